@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bench - Harness benchmark sederhana tanpa dependensi (pola JMH: warmup -> iterasi pengukuran).
+ * - Setiap iterasi berjalan selama waktu tetap, hasil dilaporkan dalam ns/op (rata-rata +- stdev antar iterasi).
+ * - Nilai hasil operasi dikonsumsi ke sink agar JIT tidak menghapus kode yang diukur.
+ *
+ * Opsi (system property):
+ *   -Dbench.warmup=5        jumlah iterasi warmup
+ *   -Dbench.iterations=10   jumlah iterasi pengukuran
+ *   -Dbench.timeMs=500      durasi per iterasi
+ *   -Dbench.filter=Tier     hanya jalankan benchmark yang namanya mengandung teks ini
+ */
+public final class Bench {
+
+    /**
+     * Satu pemanggilan benchmark. Kembalikan nilai apa pun yang dihitung (dikonsumsi sink).
+     */
+    public interface Op {
+        double run() throws Exception;
+    }
+
+    public static final class Result {
+        public final String name;
+        public final String params;
+        public final double nsPerOp;
+        public final double stdevNs;
+        public final long totalOps;
+
+        Result(String name, String params, double nsPerOp, double stdevNs, long totalOps) {
+            this.name = name;
+            this.params = params;
+            this.nsPerOp = nsPerOp;
+            this.stdevNs = stdevNs;
+            this.totalOps = totalOps;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-28s %-32s %14.1f +- %10.1f ns/op  %14.1f ops/s",
+                    name, params, nsPerOp, stdevNs, nsPerOp > 0 ? 1e9 / nsPerOp : 0);
+        }
+    }
+
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 5);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 10);
+    private static final long TIME_NS = Long.getLong("bench.timeMs", 500L) * 1_000_000L;
+    private static final String FILTER = System.getProperty("bench.filter", "");
+
+    // Sink: volatile agar hasil tidak dianggap mati oleh JIT
+    private static volatile double sink;
+
+    private final List<Result> results = new ArrayList<>();
+
+    public static boolean enabled(String name) {
+        return FILTER.isEmpty() || name.contains(FILTER);
+    }
+
+    /**
+     * @param opsPerCall Jumlah "operasi" yang dikerjakan satu panggilan op (mis. jumlah karyawan),
+     *                   agar ns/op dilaporkan per unit kerja.
+     */
+    public Result measure(String name, Map<String, ?> params, int opsPerCall, Op op) throws Exception {
+        String paramStr = format(params);
+        for (int i = 0; i < WARMUP; i++) runIteration(op);
+
+        double[] perOp = new double[ITERATIONS];
+        long totalOps = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long[] timed = runIteration(op);
+            long ops = timed[1] * (long) opsPerCall;
+            perOp[i] = (double) timed[0] / ops;
+            totalOps += ops;
+        }
+
+        double mean = 0;
+        for (double v : perOp) mean += v;
+        mean /= perOp.length;
+        double var = 0;
+        for (double v : perOp) var += (v - mean) * (v - mean);
+        double stdev = perOp.length > 1 ? Math.sqrt(var / (perOp.length - 1)) : 0;
+
+        Result r = new Result(name, paramStr, mean, stdev, totalOps);
+        results.add(r);
+        System.out.println(r);
+        return r;
+    }
+
+    // {elapsedNs, calls}
+    private static long[] runIteration(Op op) throws Exception {
+        long calls = 0;
+        double acc = 0;
+        long start = System.nanoTime();
+        long now;
+        do {
+            acc += op.run();
+            calls++;
+            now = System.nanoTime();
+        } while (now - start < TIME_NS);
+        sink = acc;
+        return new long[]{now - start, calls};
+    }
+
+    public List<Result> results() {
+        return results;
+    }
+
+    public static Map<String, Object> params(Object... keyValues) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) m.put(String.valueOf(keyValues[i]), keyValues[i + 1]);
+        return m;
+    }
+
+    /**
+     * Parse daftar parameter dari system property, mis. -Dbench.employees=100,1000,10000
+     */
+    public static int[] intList(String property, int... defaults) {
+        String raw = System.getProperty(property);
+        if (raw == null || raw.isBlank()) return defaults;
+        String[] parts = raw.split(",");
+        int[] out = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) out[i] = Integer.parseInt(parts[i].trim());
+        return out;
+    }
+
+    public static void header() {
+        System.out.printf(Locale.ROOT, "# warmup=%d x %dms, iterations=%d x %dms, java=%s, cpus=%d%n",
+                WARMUP, TIME_NS / 1_000_000, ITERATIONS, TIME_NS / 1_000_000,
+                System.getProperty("java.version"), Runtime.getRuntime().availableProcessors());
+        System.out.printf(Locale.ROOT, "%-28s %-32s %27s  %20s%n", "Benchmark", "Params", "Score", "Throughput");
+    }
+
+    private static String format(Map<String, ?> params) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, ?> e : params.entrySet()) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,108 @@
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * OvertimeReferenceCheck - Cek mandiri: lembur dari akumulator menit (FullTimeEmployee.calculateOvertimePay)
+ * dibandingkan dengan perhitungan lama (jam double per entri, dijumlah per tanggal lewat HashMap).
+ * - Kedua jalur hanya berbeda urutan penjumlahan floating-point, jadi hasilnya sama sampai pembulatan terakhir;
+ *   selisih harus < setengah sen (payroll disimpan DECIMAL(15,2)).
+ * - Tanpa database dan tanpa JMH. Exit code 1 jika ada bulan yang selisihnya >= setengah sen.
+ *
+ * Opsi (system property):
+ *   -Dcheck.months=200000   jumlah bulan acak
+ *   -Dcheck.entries=60      maksimal entri lembur per bulan
+ *   -Dcheck.seed=7          seed acak
+ *
+ * Jalankan: gradle overtimeCheck   (atau: java -cp out OvertimeReferenceCheck)
+ */
+public class OvertimeReferenceCheck {
+
+    private static final double MAX_DIFF = 0.005;
+
+    public static void main(String[] args) {
+        int months = Integer.getInteger("check.months", 200_000);
+        int maxEntries = Integer.getInteger("check.entries", 60);
+        Random rnd = new Random(Long.getLong("check.seed", 7L));
+
+        long notExact = 0, failed = 0;
+        double maxDiff = 0, maxRel = 0;
+        int[] entryDays = new int[maxEntries];
+        int[] entryMinutes = new int[maxEntries];
+
+        for (int i = 0; i < months; i++) {
+            YearMonth ym = YearMonth.of(2020 + rnd.nextInt(10), 1 + rnd.nextInt(12));
+            int weekendMask = PayrollInput.weekendMask(ym.getYear(), ym.getMonthValue());
+            double base = 3_000_000 + rnd.nextInt(40) * 250_000;
+            int count = rnd.nextInt(maxEntries + 1);
+            int[] minutes = new int[PayrollInput.MAX_DAYS];
+            for (int k = 0; k < count; k++) {
+                entryDays[k] = 1 + rnd.nextInt(ym.lengthOfMonth());
+                entryMinutes[k] = 1 + rnd.nextInt(600);
+                minutes[entryDays[k] - 1] += entryMinutes[k];
+            }
+
+            double actual = FullTimeEmployee.calculateOvertimePay(minutes, weekendMask, base);
+            double reference = referenceOvertimePay(ym, entryDays, entryMinutes, count, base);
+            double diff = Math.abs(actual - reference);
+            if (actual != reference) notExact++;
+            if (diff >= MAX_DIFF) failed++;
+            maxDiff = Math.max(maxDiff, diff);
+            if (reference > 0) maxRel = Math.max(maxRel, diff / reference);
+        }
+
+        System.out.printf("%,d bulan: %,d tidak identik bit, selisih maks %.3g (relatif %.3g), %,d >= setengah sen%n",
+                months, notExact, maxDiff, maxRel, failed);
+        if (failed > 0) System.exit(1);
+    }
+
+    // --- Referensi: perhitungan lama FullTimeEmployee.calculatePay(year, month, conn), tanpa query ---
+
+    static double referenceOvertimePay(YearMonth ym, int[] entryDays, int[] entryMinutes, int count, double baseSalary) {
+        Map<LocalDate, Double> totalHoursPerDay = new HashMap<>();
+        Map<LocalDate, Boolean> holidayStatus = new HashMap<>();
+        for (int k = 0; k < count; k++) {
+            if (entryMinutes[k] <= 0) continue;
+            LocalDate date = ym.atDay(entryDays[k]);
+            totalHoursPerDay.merge(date, entryMinutes[k] / 60.0, Double::sum);
+            holidayStatus.put(date, date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY);
+        }
+
+        double overtimePay = 0.0;
+        for (Map.Entry<LocalDate, Double> entry : totalHoursPerDay.entrySet()) {
+            overtimePay += referenceDayPay(entry.getValue(), holidayStatus.getOrDefault(entry.getKey(), false), baseSalary);
+        }
+        return overtimePay;
+    }
+
+    private static double referenceDayPay(double hours, boolean isHoliday, double baseSalary) {
+        if (hours <= 0) return 0;
+        double hourlyRate = baseSalary <= 0 ? 0 : baseSalary / 173.0;
+        double pay = 0.0;
+
+        if (!isHoliday) {
+            // Hari Kerja: 1.5x jam pertama, 2x jam berikutnya
+            pay += Math.min(hours, 1) * 1.5 * hourlyRate;
+            double remainingHours = hours - 1;
+            if (remainingHours > 0) {
+                pay += remainingHours * 2.0 * hourlyRate;
+            }
+        } else {
+            // Hari Libur: 2x (7 jam pertama), 3x (jam ke-8), 4x (jam ke-9 dst)
+            double hoursPhase1 = Math.min(hours, 7);
+            pay += hoursPhase1 * 2.0 * hourlyRate;
+
+            double hoursPhase2 = Math.min(Math.max(0, hours - 7), 1);
+            pay += hoursPhase2 * 3.0 * hourlyRate;
+
+            double hoursPhase3 = Math.max(0, hours - 8);
+            if (hoursPhase3 > 0) {
+                pay += hoursPhase3 * 4.0 * hourlyRate;
+            }
+        }
+        return pay;
+    }
+}
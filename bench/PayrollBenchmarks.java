@@ -0,0 +1,56 @@
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * PayrollBenchmarks - Benchmark untuk hot path perhitungan payroll (tanpa database), versi tanpa dependensi.
+ * Data & operasi yang diukur sama dengan benchmark JMH (PayrollFixtures); untuk angka resmi pakai `gradle jmh`.
+ *
+ * Parameter (system property, dipisah koma):
+ *   -Dbench.employees=100,1000,10000   jumlah karyawan per panggilan
+ *   -Dbench.entries=0,10,40            entri lembur per karyawan per bulan
+ *   -Dbench.seed=42                    seed data acak (hasil dapat diulang)
+ *
+ * Jalankan (dari root project):
+ *   javac -encoding UTF-8 -d out -cp lib/jdbc/* src/*.java bench/*.java
+ *   java -Djava.awt.headless=true -cp out:lib/jdbc/* PayrollBenchmarks
+ */
+public class PayrollBenchmarks {
+
+    private static final long SEED = Long.getLong("bench.seed", 42L);
+
+    public static void main(String[] args) throws Exception {
+        int[] employeeCounts = Bench.intList("bench.employees", 100, 1_000, 10_000);
+        int[] entryCounts = Bench.intList("bench.entries", 0, 10, 40);
+
+        Bench bench = new Bench();
+        Bench.header();
+
+        for (int employees : employeeCounts) {
+            for (int entries : entryCounts) {
+                if (Bench.enabled("FullTimeTier")) {
+                    run(bench, "FullTimeTier", Bench.params("employees", employees, "entries", entries), employees,
+                            PayrollFixtures.fullTimeTier(SEED, employees, entries));
+                }
+                if (Bench.enabled("CalculateAll")) {
+                    for (boolean parallel : new boolean[]{false, true}) {
+                        run(bench, "CalculateAll", Bench.params("employees", employees, "entries", entries, "parallel", parallel),
+                                employees, PayrollFixtures.calculateAll(SEED, employees, entries, parallel));
+                    }
+                }
+            }
+            if (Bench.enabled("PartTimePay")) {
+                run(bench, "PartTimePay", Bench.params("employees", employees), employees, PayrollFixtures.partTimePay(SEED, employees));
+            }
+            if (Bench.enabled("FormatRupiah")) {
+                run(bench, "FormatRupiah", Bench.params("employees", employees), employees, PayrollFixtures.formatRupiah(SEED, employees));
+            }
+        }
+        if (Bench.enabled("CountBusinessDays")) {
+            run(bench, "CountBusinessDays", Bench.params("months", 12), 12, PayrollFixtures.countBusinessDays());
+        }
+    }
+
+    private static void run(Bench bench, String name, Map<String, ?> params, int opsPerCall, DoubleSupplier op) throws Exception {
+        bench.measure(name, params, opsPerCall, op::getAsDouble);
+    }
+}
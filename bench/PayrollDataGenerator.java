@@ -0,0 +1,330 @@
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.Random;
+
+/**
+ * PayrollDataGenerator - Pengisi data sintetis (seedable) untuk load test & benchmark.
+ * Mengisi salary_scale, employees, work_records, overtime_entries (+ overtime_monthly_summary), payrolls, payment_logs
+ * lewat koneksi DB aplikasi (DB.getConnection), dengan batch insert.
+ *
+ * Opsi (system property):
+ *   -Ddata.employees=1000      jumlah karyawan (100 - 100.000)
+ *   -Ddata.years=1             lama riwayat dalam tahun (1 - 10), berakhir di data.endMonth
+ *   -Ddata.endMonth=2025-12    bulan terakhir (default: bulan berjalan). Bulan terakhir dibiarkan PENDING.
+ *   -Ddata.seed=42             seed acak (data yang sama untuk seed & parameter yang sama)
+ *   -Ddata.partTimeRatio=0.2   proporsi karyawan Part-Time
+ *   -Ddata.inactiveRatio=0.05  proporsi karyawan yang sudah keluar (non-aktif)
+ *   -Ddata.overtimePerMonth=6  rata-rata entri lembur Full-Time per bulan
+ *   -Ddata.paidRatio=0.97      peluang payroll bulan lampau sudah PAID
+ *   -Ddata.batchSize=5000      baris per batch / commit
+ *   -Ddata.reset=false         true: kosongkan keenam tabel dulu
+ *
+ * Jalankan: java -cp "out:lib/jdbc/*" -Ddata.employees=10000 -Ddata.years=5 PayrollDataGenerator
+ */
+public class PayrollDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Adi", "Agus", "Ahmad", "Andi", "Ani", "Arif", "Ayu", "Bambang", "Budi", "Citra", "Dewi", "Dian",
+        "Dimas", "Eka", "Fajar", "Fitri", "Gita", "Hadi", "Hendra", "Indah", "Intan", "Joko", "Kartika", "Lestari",
+        "Made", "Maya", "Nur", "Putri", "Rahmat", "Rina", "Rizki", "Sari", "Siti", "Slamet", "Taufik", "Wahyu",
+        "Wayan", "Yanti", "Yogi", "Yusuf"
+    };
+    private static final String[] LAST_NAMES = {
+        "Pratama", "Saputra", "Wijaya", "Santoso", "Hidayat", "Kusuma", "Nugroho", "Siregar", "Lubis", "Nasution",
+        "Setiawan", "Gunawan", "Halim", "Putra", "Wibowo", "Susanto", "Harahap", "Simanjuntak", "Rahman", "Utami"
+    };
+    // Gaji pokok per golongan 1-4 (sama dengan pilihan golongan di EmployeePanel)
+    private static final double[] BASE_SALARY = {3_500_000, 4_750_000, 6_000_000, 8_500_000};
+    private static final double PARTTIME_DAILY_RATE = 100_000.0;
+
+    private final int employees;
+    private final int years;
+    private final YearMonth endMonth;
+    private final double partTimeRatio;
+    private final double inactiveRatio;
+    private final int overtimePerMonth;
+    private final double paidRatio;
+    private final int batchSize;
+    private final Random rnd;
+
+    // Baris yang ditulis per tabel (untuk laporan)
+    private long employeeRows, workRecordRows, overtimeRows, payrollRows, paymentLogRows;
+
+    public PayrollDataGenerator(int employees, int years, YearMonth endMonth, long seed) {
+        if (employees < 100 || employees > 100_000) throw new IllegalArgumentException("data.employees harus 100 - 100000.");
+        if (years < 1 || years > 10) throw new IllegalArgumentException("data.years harus 1 - 10.");
+        this.employees = employees;
+        this.years = years;
+        this.endMonth = endMonth;
+        this.partTimeRatio = Double.parseDouble(System.getProperty("data.partTimeRatio", "0.2"));
+        this.inactiveRatio = Double.parseDouble(System.getProperty("data.inactiveRatio", "0.05"));
+        this.overtimePerMonth = Integer.getInteger("data.overtimePerMonth", 6);
+        this.paidRatio = Double.parseDouble(System.getProperty("data.paidRatio", "0.97"));
+        this.batchSize = Integer.getInteger("data.batchSize", 5_000);
+        this.rnd = new Random(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String end = System.getProperty("data.endMonth");
+        PayrollDataGenerator gen = new PayrollDataGenerator(
+                Integer.getInteger("data.employees", 1_000),
+                Integer.getInteger("data.years", 1),
+                end == null ? YearMonth.now() : YearMonth.parse(end),
+                Long.getLong("data.seed", 42L));
+
+        SchemaMigrator.migrate();
+        long start = System.currentTimeMillis();
+        gen.generate(Boolean.getBoolean("data.reset"));
+        System.out.printf("Selesai dalam %.1f s%n", (System.currentTimeMillis() - start) / 1000.0);
+        System.exit(0);
+    }
+
+    // Satu karyawan sintetis
+    private static class Person {
+        final int id;
+        final boolean partTime;
+        final Integer golongan;
+        final int firstMonth;  // index bulan mulai bekerja (inklusif)
+        final int lastMonth;   // index bulan terakhir bekerja (inklusif)
+
+        Person(int id, boolean partTime, Integer golongan, int firstMonth, int lastMonth) {
+            this.id = id;
+            this.partTime = partTime;
+            this.golongan = golongan;
+            this.firstMonth = firstMonth;
+            this.lastMonth = lastMonth;
+        }
+
+        boolean activeIn(int monthIndex) {
+            return monthIndex >= firstMonth && monthIndex <= lastMonth;
+        }
+    }
+
+    // PreparedStatement + addBatch, flush & commit setiap batchSize baris
+    private class Batch implements AutoCloseable {
+        private final Connection conn;
+        private final PreparedStatement ps;
+        private int pending = 0;
+
+        Batch(Connection conn, String sql) throws SQLException {
+            this.conn = conn;
+            this.ps = conn.prepareStatement(sql);
+        }
+
+        PreparedStatement row() {
+            return ps;
+        }
+
+        void add() throws SQLException {
+            ps.addBatch();
+            if (++pending >= batchSize) flush();
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) return;
+            ps.executeBatch();
+            conn.commit();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                ps.close();
+            }
+        }
+    }
+
+    public void generate(boolean reset) throws Exception {
+        int months = years * 12;
+        YearMonth firstMonth = endMonth.minusMonths(months - 1L);
+
+        try (Connection conn = DB.getConnection()) {
+            conn.setAutoCommit(false);
+            if (reset) reset(conn);
+
+            int idOffset = maxId(conn, "employees");
+            long payrollId = maxId(conn, "payrolls");
+
+            insertSalaryScale(conn);
+            Person[] people = insertEmployees(conn, idOffset, months);
+
+            try (Batch wr = new Batch(conn, "INSERT INTO work_records(employee_id, year, month, parttime_days) VALUES (?,?,?,?)");
+                 Batch ot = new Batch(conn, "INSERT INTO overtime_entries(employee_id, ot_date, start_time, end_time) VALUES (?,?,?,?)");
+                 Batch pr = new Batch(conn, "INSERT INTO payrolls(id, employee_id, year, month, base_salary, overtime_pay, total_salary, status, snapshot_type, snapshot_golongan, created_at) VALUES (?,?,?,?,?,?,?,?,?,?,?)");
+                 Batch pl = new Batch(conn, "INSERT INTO payment_logs(payroll_id, paid_by, amount, payment_method, reference, paid_at) VALUES (?,?,?,?,?,?)")) {
+
+                for (int m = 0; m < months; m++) {
+                    YearMonth ym = firstMonth.plusMonths(m);
+                    boolean latest = (m == months - 1);
+                    int standardDays = PayrollService.countBusinessDays(ym.getYear(), ym.getMonthValue());
+                    int weekendMask = PayrollInput.weekendMask(ym.getYear(), ym.getMonthValue());
+
+                    for (Person p : people) {
+                        if (!p.activeIn(m)) continue;
+
+                        int ptDays = p.partTime ? 8 + rnd.nextInt(15) : 0;
+                        wr.row().setInt(1, p.id);
+                        wr.row().setInt(2, ym.getYear());
+                        wr.row().setInt(3, ym.getMonthValue());
+                        wr.row().setInt(4, ptDays);
+                        wr.add();
+                        workRecordRows++;
+
+                        int[] minutes = new int[PayrollInput.MAX_DAYS];
+                        if (!p.partTime) writeOvertime(ot, p.id, ym, weekendMask, minutes);
+
+                        // Payroll: bulan lampau umumnya sudah PAID, bulan terakhir PENDING (sebagian belum dihitung)
+                        boolean paid = !latest && rnd.nextDouble() < paidRatio;
+                        if (!paid && rnd.nextBoolean()) continue;
+
+                        Employee emp = p.partTime
+                                ? new PartTimeEmployee(p.id, "", true)
+                                : new FullTimeEmployee(p.id, "", BASE_SALARY[p.golongan - 1], true);
+                        double total = emp.calculatePay(PayrollInput.forEmployee(emp, minutes, weekendMask, ptDays, PARTTIME_DAILY_RATE));
+                        Employee.SalaryComponents comp = emp.getSalaryComponents(total, standardDays, PARTTIME_DAILY_RATE);
+                        Timestamp createdAt = Timestamp.valueOf(ym.atEndOfMonth().atTime(16, 0));
+
+                        payrollId++;
+                        pr.row().setLong(1, payrollId);
+                        pr.row().setInt(2, p.id);
+                        pr.row().setInt(3, ym.getYear());
+                        pr.row().setInt(4, ym.getMonthValue());
+                        pr.row().setDouble(5, comp.base);
+                        pr.row().setDouble(6, comp.overtime);
+                        pr.row().setDouble(7, total);
+                        pr.row().setString(8, paid ? "PAID" : "PENDING");
+                        if (paid) {
+                            pr.row().setString(9, emp.getEmploymentType());
+                            if (p.golongan == null) pr.row().setNull(10, Types.INTEGER); else pr.row().setInt(10, p.golongan);
+                        } else {
+                            pr.row().setNull(9, Types.VARCHAR);
+                            pr.row().setNull(10, Types.INTEGER);
+                        }
+                        pr.row().setTimestamp(11, createdAt);
+                        pr.add();
+                        payrollRows++;
+
+                        if (paid) {
+                            pl.row().setLong(1, payrollId);
+                            pl.row().setString(2, "admin");
+                            pl.row().setDouble(3, total);
+                            pl.row().setString(4, "MANUAL");
+                            pl.row().setString(5, "");
+                            pl.row().setTimestamp(6, Timestamp.valueOf(ym.plusMonths(1).atDay(1 + rnd.nextInt(5)).atTime(9 + rnd.nextInt(8), rnd.nextInt(60))));
+                            pl.add();
+                            paymentLogRows++;
+                        }
+                    }
+
+                    if (ym.getMonthValue() == 12 || latest) {
+                        System.out.printf("  s/d %s: %,d work_records, %,d overtime, %,d payrolls, %,d payment_logs%n",
+                                ym, workRecordRows, overtimeRows, payrollRows, paymentLogRows);
+                    }
+                }
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+
+            // Entri lembur di-insert langsung (batch), jadi ringkasan bulanan dibangun ulang sekali di akhir
+            EmployeeRepository.rebuildOvertimeSummary(conn);
+        }
+
+        System.out.printf("Total: %,d employees, %,d work_records, %,d overtime_entries, %,d payrolls, %,d payment_logs%n",
+                employeeRows, workRecordRows, overtimeRows, payrollRows, paymentLogRows);
+    }
+
+    private void reset(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            for (String table : new String[]{"payment_logs", "payrolls", "overtime_monthly_summary", "overtime_entries", "work_records", "employees", "salary_scale"}) {
+                st.executeUpdate("TRUNCATE TABLE " + table);
+            }
+        }
+        conn.commit();
+        EmployeeDirectory.shared().invalidate();
+    }
+
+    private void insertSalaryScale(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO salary_scale(golongan, base_salary) VALUES (?, ?) ON DUPLICATE KEY UPDATE golongan = golongan")) {
+            for (int g = 1; g <= BASE_SALARY.length; g++) {
+                ps.setInt(1, g);
+                ps.setDouble(2, BASE_SALARY[g - 1]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+    }
+
+    private Person[] insertEmployees(Connection conn, int idOffset, int months) throws SQLException {
+        Person[] people = new Person[employees];
+        try (Batch b = new Batch(conn, "INSERT INTO employees(id, name, golongan, employment_type, is_active) VALUES (?,?,?,?,?)")) {
+            for (int i = 0; i < employees; i++) {
+                int id = idOffset + i + 1;
+                boolean partTime = rnd.nextDouble() < partTimeRatio;
+                Integer golongan = partTime ? null : 1 + rnd.nextInt(BASE_SALARY.length);
+                boolean inactive = rnd.nextDouble() < inactiveRatio;
+
+                // Sebagian karyawan masuk di tengah periode; yang non-aktif keluar sebelum bulan terakhir
+                int first = rnd.nextInt(4) == 0 ? rnd.nextInt(months) : 0;
+                int last = inactive ? first + rnd.nextInt(Math.max(1, months - 1 - first)) : months - 1;
+                people[i] = new Person(id, partTime, golongan, first, last);
+
+                String name = FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[rnd.nextInt(LAST_NAMES.length)];
+                b.row().setInt(1, id);
+                b.row().setString(2, name + " " + id);
+                if (golongan == null) b.row().setNull(3, Types.INTEGER); else b.row().setInt(3, golongan);
+                b.row().setString(4, partTime ? "PARTTIME" : "FULLTIME");
+                b.row().setInt(5, inactive ? 0 : 1);
+                b.add();
+                employeeRows++;
+            }
+        }
+        EmployeeDirectory.shared().invalidate();
+        return people;
+    }
+
+    // Entri lembur satu karyawan satu bulan; menit per tanggal ikut diakumulasi untuk hitung payroll
+    private void writeOvertime(Batch ot, int empId, YearMonth ym, int weekendMask, int[] minutes) throws SQLException {
+        int count = overtimePerMonth <= 0 ? 0 : rnd.nextInt(overtimePerMonth * 2 + 1);
+        for (int k = 0; k < count; k++) {
+            int day = 1 + rnd.nextInt(ym.lengthOfMonth());
+            boolean weekend = ((weekendMask >>> (day - 1)) & 1) != 0;
+
+            // Hari kerja: mulai 17:00-18:30, 1-4 jam. Akhir pekan: mulai 08:00-10:30, 2-10 jam.
+            LocalTime start = weekend ? LocalTime.of(8 + rnd.nextInt(3), rnd.nextBoolean() ? 0 : 30)
+                                      : LocalTime.of(17 + rnd.nextInt(2), rnd.nextBoolean() ? 0 : 30);
+            int durationMin = weekend ? 120 + rnd.nextInt(17) * 30 : 60 + rnd.nextInt(7) * 30;
+            LocalTime end = start.plusMinutes(durationMin);
+
+            LocalDate date = ym.atDay(day);
+            ot.row().setInt(1, empId);
+            ot.row().setDate(2, Date.valueOf(date));
+            ot.row().setTime(3, Time.valueOf(start));
+            ot.row().setTime(4, Time.valueOf(end));
+            ot.add();
+            overtimeRows++;
+            minutes[day - 1] += durationMin;
+        }
+    }
+
+    private static int maxId(Connection conn, String table) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * PayrollFixtures - Data benchmark (seedable) + operasi yang diukur, dipakai bersama oleh
+ * PayrollBenchmarks (harness tanpa dependensi) dan jmh.PayrollJmhBenchmarks (JMH).
+ * - Setiap method menyiapkan data sekali, lalu mengembalikan operasi yang diukur.
+ * - Operasi mengembalikan double (jumlah gaji, panjang teks, ...) agar hasilnya bisa dikonsumsi dan tidak dihapus JIT.
+ * - Public static karena JMH mewajibkan benchmark di package bernama, sedangkan kode aplikasi ada di default package:
+ *   benchmark JMH memanggil method ini lewat reflection satu kali saat setup.
+ */
+public final class PayrollFixtures {
+
+    public static final int YEAR = 2025;
+    public static final int MONTH = 3;
+
+    private PayrollFixtures() { }
+
+    /**
+     * FullTimeEmployee: gaji pokok + lembur berjenjang dari PayrollInput yang sudah dimuat.
+     */
+    public static DoubleSupplier fullTimeTier(long seed, int employees, int entriesPerEmployee) {
+        Random rnd = new Random(seed);
+        int weekendMask = PayrollInput.weekendMask(YEAR, MONTH);
+        int days = YearMonth.of(YEAR, MONTH).lengthOfMonth();
+
+        FullTimeEmployee[] emps = new FullTimeEmployee[employees];
+        PayrollInput[] inputs = new PayrollInput[employees];
+        for (int i = 0; i < employees; i++) {
+            double base = 3_000_000 + rnd.nextInt(12) * 500_000;
+            emps[i] = new FullTimeEmployee(i + 1, "Emp " + (i + 1), base, true);
+            int[] minutes = new int[PayrollInput.MAX_DAYS];
+            for (int k = 0; k < entriesPerEmployee; k++) {
+                minutes[rnd.nextInt(days)] += 30 + rnd.nextInt(8) * 30; // 0.5 - 4 jam per entri
+            }
+            inputs[i] = PayrollInput.of(minutes, weekendMask, 0, 0, base);
+        }
+
+        return () -> {
+            double sum = 0;
+            for (int i = 0; i < emps.length; i++) sum += emps[i].calculatePay(inputs[i]);
+            return sum;
+        };
+    }
+
+    /**
+     * PartTimeEmployee: hari kerja x tarif harian.
+     */
+    public static DoubleSupplier partTimePay(long seed, int employees) {
+        Random rnd = new Random(seed);
+        PartTimeEmployee[] emps = new PartTimeEmployee[employees];
+        PayrollInput[] inputs = new PayrollInput[employees];
+        for (int i = 0; i < employees; i++) {
+            emps[i] = new PartTimeEmployee(i + 1, "Emp " + (i + 1), true);
+            inputs[i] = PayrollInput.of(null, 0, rnd.nextInt(23), 100_000.0, 0);
+        }
+
+        return () -> {
+            double sum = 0;
+            for (int i = 0; i < emps.length; i++) sum += emps[i].calculatePay(inputs[i]);
+            return sum;
+        };
+    }
+
+    /**
+     * UIConstants.formatRupiah untuk satu kolom tabel berisi `employees` nilai.
+     */
+    public static DoubleSupplier formatRupiah(long seed, int employees) {
+        Random rnd = new Random(seed);
+        double[] values = new double[employees];
+        for (int i = 0; i < employees; i++) values[i] = 1_000_000 + rnd.nextInt(20_000_000);
+
+        return () -> {
+            double len = 0;
+            for (double v : values) len += UIConstants.formatRupiah(v).length();
+            return len;
+        };
+    }
+
+    /**
+     * PayrollService.countBusinessDays untuk 12 bulan.
+     */
+    public static DoubleSupplier countBusinessDays() {
+        return () -> {
+            double sum = 0;
+            for (int m = 1; m <= 12; m++) sum += PayrollService.countBusinessDays(YEAR, m);
+            return sum;
+        };
+    }
+
+    /**
+     * PayrollService.calculateAll satu bulan penuh (load bulk + hitung, tanpa cache) di atas
+     * InMemoryPayrollRepository sebagai database embedded: 30% Part-Time, sisanya Full-Time
+     * dengan entriesPerEmployee entri lembur.
+     */
+    public static DoubleSupplier calculateAll(long seed, int employees, int entriesPerEmployee, boolean parallel) throws Exception {
+        Random rnd = new Random(seed);
+        InMemoryPayrollRepository repo = InMemoryPayrollRepository.withDefaults();
+        YearMonth ym = YearMonth.of(YEAR, MONTH);
+        for (int i = 1; i <= employees; i++) {
+            boolean partTime = rnd.nextInt(10) < 3;
+            repo.insertEmployee(i, "Emp " + i, partTime ? "PARTTIME" : "FULLTIME", partTime ? null : 1 + rnd.nextInt(4));
+            if (partTime) {
+                repo.ensureWorkRecord(i, YEAR, MONTH);
+                repo.updateParttimeDays(i, YEAR, MONTH, rnd.nextInt(23));
+                continue;
+            }
+            for (int k = 0; k < entriesPerEmployee; k++) {
+                Date date = Date.valueOf(ym.atDay(1 + rnd.nextInt(ym.lengthOfMonth())));
+                int startHour = 17 + rnd.nextInt(2);
+                repo.insertOvertimeEntry(i, date, Time.valueOf(LocalTime.of(startHour, 0)),
+                        Time.valueOf(LocalTime.of(startHour + 1 + rnd.nextInt(3), 0)));
+            }
+        }
+
+        PayrollService service = new PayrollService(repo);
+        return () -> {
+            try {
+                double sum = 0;
+                for (PayrollService.PayrollRow r : service.calculateAll(YEAR, MONTH, parallel)) sum += r.total;
+                return sum;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package jmh;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PayrollJmhBenchmarks - Benchmark JMH untuk hot path perhitungan payroll.
+ * - Parameter: employees (jumlah karyawan per panggilan) & entriesPerEmployee (entri lembur per karyawan per bulan).
+ * - Data & operasi dari PayrollFixtures (seed tetap), sama dengan harness PayrollBenchmarks.
+ * - JMH tidak menerima benchmark di default package, sedangkan kode aplikasi ada di default package:
+ *   fixture diambil lewat reflection sekali per trial (@Setup), lalu dipanggil lewat DoubleSupplier.
+ * - calculateAll memakai InMemoryPayrollRepository sebagai database embedded (tanpa server MySQL).
+ *
+ * Jalankan: gradle jmh   (atau: gradle jmh -Pjmh.args="calculateAll -p employees=10000")
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PayrollJmhBenchmarks {
+
+    static final long SEED = 42L;
+
+    // Panggil PayrollFixtures.<name>(args...) dari default package
+    static DoubleSupplier fixture(String name, Object... args) throws Exception {
+        Class<?> fixtures = Class.forName("PayrollFixtures");
+        for (Method m : fixtures.getMethods()) {
+            if (m.getName().equals(name) && m.getParameterCount() == args.length) {
+                try {
+                    return (DoubleSupplier) m.invoke(null, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        }
+        throw new NoSuchMethodException("PayrollFixtures." + name);
+    }
+
+    // --- State ---
+
+    @State(Scope.Benchmark)
+    public static class FullTimeState {
+        @Param({"100", "1000", "10000"})
+        public int employees;
+
+        @Param({"0", "10", "40"})
+        public int entriesPerEmployee;
+
+        DoubleSupplier op;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            op = fixture("fullTimeTier", SEED, employees, entriesPerEmployee);
+        }
+    }
+
+    // Benchmark tanpa lembur: hanya jumlah karyawan
+    @State(Scope.Benchmark)
+    public static class EmployeesState {
+        @Param({"100", "1000", "10000"})
+        public int employees;
+
+        DoubleSupplier partTime;
+        DoubleSupplier format;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            partTime = fixture("partTimePay", SEED, employees);
+            format = fixture("formatRupiah", SEED, employees);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MonthState {
+        @Param({"100", "1000", "10000"})
+        public int employees;
+
+        @Param({"0", "10", "40"})
+        public int entriesPerEmployee;
+
+        @Param({"false", "true"})
+        public boolean parallel;
+
+        DoubleSupplier op;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            op = fixture("calculateAll", SEED, employees, entriesPerEmployee, parallel);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CalendarState {
+        DoubleSupplier op;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            op = fixture("countBusinessDays");
+        }
+    }
+
+    // --- Benchmarks (nilai dikembalikan -> dikonsumsi JMH) ---
+
+    @Benchmark
+    public double fullTimeTier(FullTimeState s) {
+        return s.op.getAsDouble();
+    }
+
+    @Benchmark
+    public double partTimePay(EmployeesState s) {
+        return s.partTime.getAsDouble();
+    }
+
+    @Benchmark
+    public double formatRupiah(EmployeesState s) {
+        return s.format.getAsDouble();
+    }
+
+    @Benchmark
+    public double countBusinessDays(CalendarState s) {
+        return s.op.getAsDouble();
+    }
+
+    @Benchmark
+    public double calculateAll(MonthState s) {
+        return s.op.getAsDouble();
+    }
+}
@@ -0,0 +1,119 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AppSettings - Cache untuk tabel app_settings (key-value).
+ * - Semua baris dimuat sekali, pembacaan berikutnya dari memori.
+ * - Dimuat ulang otomatis setelah TTL habis, atau langsung saat ditulis lewat set().
+ */
+public class AppSettings {
+
+    // Key yang dipakai aplikasi
+    public static final String PARTTIME_DAILY_RATE = "PARTTIME_DAILY_RATE";
+
+    private static final double DEFAULT_PARTTIME_DAILY_RATE = 100_000.0;
+
+    // TTL bisa diatur lewat -Dpayroll.settings.ttlMs=...
+    private static final long TTL_MS = Long.getLong("payroll.settings.ttlMs", 300_000L);
+
+    private static volatile Map<String, String> values = null;
+    private static volatile long loadedAt = 0L;
+
+    private AppSettings() {}
+
+    // --- Typed getters ---
+
+    public static String get(String key) {
+        return snapshot().get(key);
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        String v = get(key);
+        if (v == null) return defaultValue;
+        try {
+            return Double.parseDouble(v.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String v = get(key);
+        if (v == null) return defaultValue;
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @return Tarif harian Part-Time. Default 100_000.0 jika belum di-set / gagal dimuat.
+     */
+    public static double getPartTimeDailyRate() {
+        return getDouble(PARTTIME_DAILY_RATE, DEFAULT_PARTTIME_DAILY_RATE);
+    }
+
+    // --- Write-through ---
+
+    /**
+     * Simpan setting ke DB lalu perbarui cache (pembaca berikutnya langsung melihat nilai baru).
+     */
+    public static synchronized void set(String key, String value) throws Exception {
+        String sql = "INSERT INTO app_settings(setting_key, setting_value) VALUES (?, ?) "
+                   + "ON DUPLICATE KEY UPDATE setting_value = VALUES(setting_value)";
+        try (Connection conn = DB.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, key);
+            ps.setString(2, value);
+            ps.executeUpdate();
+        }
+        Map<String, String> copy = new HashMap<>(snapshot());
+        copy.put(key, value);
+        values = Collections.unmodifiableMap(copy);
+        // Tarif berubah -> hasil payroll yang di-cache ikut basi
+        PayrollResultCache.shared().invalidateAll();
+    }
+
+    /**
+     * Paksa muat ulang pada pembacaan berikutnya (mis. setelah setting diubah dari luar aplikasi).
+     */
+    public static void invalidate() {
+        loadedAt = 0L;
+        PayrollResultCache.shared().invalidateAll();
+    }
+
+    // --- Internal ---
+
+    private static Map<String, String> snapshot() {
+        Map<String, String> current = values;
+        if (current != null && System.currentTimeMillis() - loadedAt < TTL_MS) return current;
+        return reload();
+    }
+
+    private static synchronized Map<String, String> reload() {
+        // Cek ulang: thread lain mungkin sudah memuat selagi kita menunggu lock
+        if (values != null && System.currentTimeMillis() - loadedAt < TTL_MS) return values;
+
+        Map<String, String> map = new HashMap<>();
+        try (Connection conn = DB.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT setting_key, setting_value FROM app_settings");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                map.put(rs.getString("setting_key"), rs.getString("setting_value"));
+            }
+            values = Collections.unmodifiableMap(map);
+        } catch (Exception e) {
+            e.printStackTrace();
+            // Pertahankan nilai lama jika ada; jika belum pernah berhasil, pakai default
+            if (values == null) values = Collections.emptyMap();
+        }
+        // TTL juga berlaku setelah gagal agar DB yang mati tidak di-query terus-menerus
+        loadedAt = System.currentTimeMillis();
+        return values;
+    }
+}
@@ -0,0 +1,39 @@
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.LayoutManager;
+import javax.swing.JPanel;
+
+/**
+ * BackgroundPanel - JPanel dengan gambar background dari ImageAssets (dipakai card / sidebar / header).
+ * - Gambar diambil dari cache ImageAssets dalam ukuran panel saat ini, lalu digambar 1:1 tanpa rescale.
+ * - Jika file gambar tidak ada, panel diisi fallback (jika diset) atau background biasa.
+ */
+public class BackgroundPanel extends JPanel {
+
+    private final String asset;
+    private Color fallback; // null = pakai background biasa
+
+    public BackgroundPanel(LayoutManager layout, String asset) {
+        super(layout);
+        this.asset = asset;
+    }
+
+    // Warna pengganti jika gambar tidak tersedia
+    public BackgroundPanel withFallback(Color fallback) {
+        this.fallback = fallback;
+        return this;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Image bg = ImageAssets.scaled(asset, getWidth(), getHeight());
+        if (bg != null) {
+            g.drawImage(bg, 0, 0, null);
+        } else if (fallback != null) {
+            g.setColor(fallback);
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+    }
+}
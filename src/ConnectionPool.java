@@ -0,0 +1,395 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConnectionPool - Pool koneksi JDBC sederhana (bounded & self-validating).
+ * - Koneksi fisik dibuat sekali lalu dipakai ulang (handshake MySQL hanya di awal).
+ * - Connection yang diberikan ke pemanggil adalah proxy: close() = kembalikan ke pool.
+ * - Koneksi idle divalidasi sebelum dipinjam, dan yang terlalu lama idle dibuang.
+ * - Leak detection: peminjaman yang melebihi batas waktu dicetak (waktu + thread peminjam).
+ *   Stack trace lokasi peminjaman hanya direkam jika leakTrace aktif (mode debug), karena mahal per query.
+ */
+public class ConnectionPool {
+
+    // Konfigurasi pool (immutable)
+    public static class Config {
+        public final int minSize;
+        public final int maxSize;
+        public final long maxWaitMillis;      // Batas tunggu saat pool penuh
+        public final long idleTimeoutMillis;  // Koneksi idle lebih lama dari ini akan ditutup
+        public final long leakThresholdMillis; // 0 = leak detection mati
+        public final boolean leakTrace;        // true = rekam stack trace setiap peminjaman (debug)
+        public final int validationTimeoutSeconds;
+
+        public Config(int minSize, int maxSize, long maxWaitMillis, long idleTimeoutMillis,
+                      long leakThresholdMillis, boolean leakTrace, int validationTimeoutSeconds) {
+            if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+                throw new IllegalArgumentException("Ukuran pool tidak valid: min=" + minSize + ", max=" + maxSize);
+            }
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.maxWaitMillis = maxWaitMillis;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            this.leakThresholdMillis = leakThresholdMillis;
+            this.leakTrace = leakTrace;
+            this.validationTimeoutSeconds = validationTimeoutSeconds;
+        }
+    }
+
+    // Snapshot metrik pool (untuk monitoring / debugging)
+    public static class Stats {
+        public final int active;
+        public final int idle;
+        public final int waiting;
+        public final long totalBorrows;
+        public final long totalCreated;
+        public final long totalWaitMillis;
+        public final long maxWaitMillis;
+
+        public Stats(int active, int idle, int waiting, long totalBorrows, long totalCreated, long totalWaitMillis, long maxWaitMillis) {
+            this.active = active;
+            this.idle = idle;
+            this.waiting = waiting;
+            this.totalBorrows = totalBorrows;
+            this.totalCreated = totalCreated;
+            this.totalWaitMillis = totalWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        public double averageWaitMillis() {
+            return totalBorrows == 0 ? 0 : (double) totalWaitMillis / totalBorrows;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d waiting=%d borrows=%d created=%d avgWait=%.2fms maxWait=%dms",
+                    active, idle, waiting, totalBorrows, totalCreated, averageWaitMillis(), maxWaitMillis);
+        }
+    }
+
+    // Koneksi fisik yang sedang idle di dalam pool
+    private static class IdleConnection {
+        final Connection physical;
+        final long idleSince;
+        IdleConnection(Connection physical, long idleSince) {
+            this.physical = physical;
+            this.idleSince = idleSince;
+        }
+    }
+
+    // Info peminjaman, dipakai untuk leak detection (default hanya waktu + nama thread, murah)
+    private static class Lease {
+        final long borrowedAt = System.currentTimeMillis();
+        final String thread = Thread.currentThread().getName();
+        final Throwable origin; // null kecuali leakTrace aktif
+        volatile boolean reported;
+        Lease(boolean trace) {
+            this.origin = trace ? new Throwable("Connection dipinjam di sini") : null;
+        }
+    }
+
+    private final String url;
+    private final String user;
+    private final String pass;
+    private final Config config;
+
+    private final Object lock = new Object();
+    private final Deque<IdleConnection> idle = new ArrayDeque<>(); // LIFO: koneksi "hangat" dipakai duluan
+    private final Map<PooledHandler, Lease> leased = new ConcurrentHashMap<>();
+    private int totalOpen = 0;
+    private int waiting = 0;
+    private boolean closed = false;
+
+    private final AtomicLong totalBorrows = new AtomicLong();
+    private final AtomicLong totalCreated = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String url, String user, String pass, Config config) {
+        this.url = url;
+        this.user = user;
+        this.pass = pass;
+        this.config = config;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000L, Math.min(config.idleTimeoutMillis, 30_000L) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pinjam koneksi dari pool. Wajib di-close() (try-with-resources) agar kembali ke pool.
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.currentTimeMillis();
+        long deadline = start + config.maxWaitMillis;
+        Connection physical = null;
+
+        while (physical == null) {
+            IdleConnection candidate = null;
+            boolean mayCreate = false;
+
+            synchronized (lock) {
+                while (true) {
+                    if (closed) throw new SQLException("Connection pool sudah ditutup.");
+                    if (!idle.isEmpty()) { candidate = idle.pollFirst(); break; }
+                    if (totalOpen < config.maxSize) { totalOpen++; mayCreate = true; break; }
+
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new SQLException("Timeout menunggu koneksi dari pool (" + config.maxWaitMillis + " ms). " + getStats());
+                    }
+                    waiting++;
+                    try {
+                        lock.wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted saat menunggu koneksi.", e);
+                    } finally {
+                        waiting--;
+                    }
+                }
+            }
+
+            if (mayCreate) {
+                try {
+                    physical = openPhysical();
+                } catch (SQLException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            } else if (System.currentTimeMillis() - candidate.idleSince < VALIDATE_AFTER_IDLE_MILLIS
+                    || isUsable(candidate.physical)) {
+                physical = candidate.physical;
+            } else {
+                // Koneksi basi (mis. wait_timeout server): buang lalu coba lagi
+                closeQuietly(candidate.physical);
+                releaseSlot();
+            }
+        }
+
+        long waited = System.currentTimeMillis() - start;
+        totalBorrows.incrementAndGet();
+        totalWaitMillis.addAndGet(waited);
+        maxWaitMillis.accumulateAndGet(waited, Math::max);
+
+        return wrap(physical);
+    }
+
+    public Stats getStats() {
+        synchronized (lock) {
+            return new Stats(totalOpen - idle.size(), idle.size(), waiting,
+                    totalBorrows.get(), totalCreated.get(), totalWaitMillis.get(), maxWaitMillis.get());
+        }
+    }
+
+    /**
+     * Tutup semua koneksi idle dan tolak peminjaman baru.
+     */
+    public void shutdown() {
+        housekeeper.shutdownNow();
+        synchronized (lock) {
+            closed = true;
+            for (IdleConnection ic : idle) closeQuietly(ic.physical);
+            totalOpen -= idle.size();
+            idle.clear();
+            lock.notifyAll();
+        }
+    }
+
+    // --- Internal ---
+
+    // Koneksi yang baru saja dikembalikan tidak perlu di-ping ulang
+    private static final long VALIDATE_AFTER_IDLE_MILLIS = 5_000L;
+
+    private Connection openPhysical() throws SQLException {
+        Connection c = DriverManager.getConnection(url, user, pass);
+        totalCreated.incrementAndGet();
+        return c;
+    }
+
+    private boolean isUsable(Connection c) {
+        try {
+            return !c.isClosed() && c.isValid(config.validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void releaseSlot() {
+        synchronized (lock) {
+            totalOpen--;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Dipanggil oleh proxy saat pemanggil menutup koneksi.
+     * State transaksi dikembalikan ke default agar peminjam berikutnya mendapat koneksi "bersih".
+     */
+    private void giveBack(PooledHandler handler) {
+        leased.remove(handler);
+        Connection physical = handler.physical;
+        boolean healthy;
+        try {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) physical.setReadOnly(false);
+            physical.clearWarnings();
+            healthy = !physical.isClosed();
+        } catch (SQLException e) {
+            healthy = false;
+        }
+
+        synchronized (lock) {
+            if (healthy && !closed) {
+                idle.addFirst(new IdleConnection(physical, System.currentTimeMillis()));
+                lock.notifyAll();
+                return;
+            }
+        }
+        closeQuietly(physical);
+        releaseSlot();
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // 1. Idle eviction (sisakan minimal minSize)
+        List<Connection> toClose = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<IdleConnection> it = idle.descendingIterator(); // yang paling lama idle dulu
+            while (it.hasNext() && totalOpen - toClose.size() > config.minSize) {
+                IdleConnection ic = it.next();
+                if (now - ic.idleSince >= config.idleTimeoutMillis) {
+                    it.remove();
+                    toClose.add(ic.physical);
+                }
+            }
+            totalOpen -= toClose.size();
+            if (!toClose.isEmpty()) lock.notifyAll();
+        }
+        for (Connection c : toClose) closeQuietly(c);
+
+        // 2. Isi ulang sampai minSize (pre-warm)
+        while (true) {
+            synchronized (lock) {
+                if (closed || totalOpen >= config.minSize) break;
+                totalOpen++;
+            }
+            try {
+                Connection c = openPhysical();
+                synchronized (lock) {
+                    idle.addLast(new IdleConnection(c, System.currentTimeMillis()));
+                    lock.notifyAll();
+                }
+            } catch (SQLException e) {
+                releaseSlot();
+                break; // DB belum siap, coba lagi di siklus berikutnya
+            }
+        }
+
+        // 3. Leak detection
+        if (config.leakThresholdMillis > 0) {
+            for (Lease lease : leased.values()) {
+                if (!lease.reported && now - lease.borrowedAt > config.leakThresholdMillis) {
+                    lease.reported = true;
+                    System.err.println("[ConnectionPool] Kemungkinan connection leak: dipinjam thread '" + lease.thread + "' "
+                            + (now - lease.borrowedAt) + " ms dan belum dikembalikan."
+                            + (lease.origin == null ? " (Jalankan dengan -Dpayroll.pool.leakTrace=true untuk stack trace)" : ""));
+                    if (lease.origin != null) lease.origin.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection c) {
+        try { c.close(); } catch (SQLException ignored) {}
+    }
+
+    private Connection wrap(Connection physical) {
+        PooledHandler handler = new PooledHandler(physical);
+        if (config.leakThresholdMillis > 0) leased.put(handler, new Lease(config.leakTrace));
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+
+    // Proxy handler: close() mengembalikan koneksi, method lain diteruskan ke koneksi fisik.
+    // Statement yang lupa ditutup pemanggil ikut ditutup saat koneksi dikembalikan.
+    // Referensi lemah: statement yang sudah ditutup & tidak dipakai lagi bisa di-GC walau koneksi dipinjam lama.
+    private class PooledHandler implements InvocationHandler {
+        private final Connection physical;
+        private final Set<Statement> statements = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+        private volatile boolean returned = false;
+
+        PooledHandler(Connection physical) { this.physical = physical; }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        List<Statement> open;
+                        synchronized (statements) {
+                            open = new ArrayList<>(statements);
+                            statements.clear();
+                        }
+                        for (Statement st : open) {
+                            try { st.close(); } catch (SQLException ignored) {}
+                        }
+                        giveBack(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + physical + "]";
+                default:
+                    if (returned) throw new SQLException("Connection sudah dikembalikan ke pool.");
+                    Object result;
+                    try {
+                        result = method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Statement) statements.add((Statement) result);
+                    return result;
+            }
+        }
+    }
+}
@@ -1,19 +1,40 @@
 import java.sql.*;
 
 public class DB {
-    private static final String URL = "jdbc:mysql://localhost:3306/payroll_db?useLegacyDatetimeCode=false&serverTimezone=Asia/Makassar";
+    private static final String URL = "jdbc:mysql://localhost:3306/payroll_db?useLegacyDatetimeCode=false&serverTimezone=Asia/Makassar&rewriteBatchedStatements=true";
     private static final String USER = "root";
     private static final String PASS = "";
 
+    // Ukuran pool bisa diatur lewat -Dpayroll.pool.min=... dst.
+    private static final ConnectionPool POOL;
+
     static {
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
         } catch (Exception e) {
             e.printStackTrace();
         }
+
+        POOL = new ConnectionPool(URL, USER, PASS, new ConnectionPool.Config(
+                Integer.getInteger("payroll.pool.min", 2),
+                Integer.getInteger("payroll.pool.max", 10),
+                Long.getLong("payroll.pool.maxWaitMs", 10_000L),
+                Long.getLong("payroll.pool.idleTimeoutMs", 300_000L),
+                Long.getLong("payroll.pool.leakThresholdMs", 60_000L),
+                Boolean.getBoolean("payroll.pool.leakTrace"), // Stack trace per peminjaman: hanya untuk debugging
+                2
+        ));
+        Runtime.getRuntime().addShutdownHook(new Thread(POOL::shutdown, "db-pool-shutdown"));
     }
 
+    /**
+     * Koneksi dari pool. Tetap gunakan try-with-resources: close() mengembalikan koneksi ke pool.
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASS);
+        return POOL.getConnection();
+    }
+
+    public static ConnectionPool.Stats getPoolStats() {
+        return POOL.getStats();
     }
-}
\ No newline at end of file
+}
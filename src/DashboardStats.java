@@ -0,0 +1,23 @@
+/**
+ * DashboardStats - Ringkasan statistik untuk dashboard (LandingPanel).
+ * Diisi dari satu query agregat (lihat PayrollRepository.getDashboardStats).
+ */
+public class DashboardStats {
+    // Jumlah karyawan aktif
+    public final int totalActive;
+    // Karyawan aktif per tipe
+    public final int fullTime;
+    public final int partTime;
+    // Jumlah karyawan non-aktif
+    public final int inactive;
+    // Total gaji berstatus PAID pada bulan yang diminta
+    public final double paidThisMonth;
+
+    public DashboardStats(int totalActive, int fullTime, int partTime, int inactive, double paidThisMonth) {
+        this.totalActive = totalActive;
+        this.fullTime = fullTime;
+        this.partTime = partTime;
+        this.inactive = inactive;
+        this.paidThisMonth = paidThisMonth;
+    }
+}
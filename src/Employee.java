@@ -1,5 +1,3 @@
-import java.sql.Connection;
-
 /**
  * Employee - Kelas abstrak dasar (Superclass).
  */
@@ -19,6 +17,9 @@ public abstract class Employee {
     
     protected boolean isActive; 
 
+    // Golongan (nullable, Part-Time umumnya tidak punya golongan)
+    protected Integer golongan;
+
     /**
      * Konstruktor: Inisialisasi data dasar karyawan.
      * Menerima String untuk tipe agar kompatibel dengan data dari Database/Repository,
@@ -56,6 +57,8 @@ public abstract class Employee {
     
     public boolean isActive() { return isActive; } 
 
+    public Integer getGolongan() { return golongan; }
+
     // --- Setter Methods ---
 
     public void setName(String name) {
@@ -69,10 +72,17 @@ public abstract class Employee {
         this.isActive = active;
     }
 
+    public void setGolongan(Integer golongan) {
+        this.golongan = golongan;
+    }
+
     /**
      * Metode abstrak untuk menghitung total gaji.
+     * [UPDATED] Murni dari data masukan (tanpa Connection / query), sehingga bisa
+     * dihitung dari data bulk, secara paralel, maupun di benchmark tanpa database.
+     * Data dimuat oleh repository (lihat PayrollInput).
      */
-    public abstract double calculatePay(int year, int month, Connection conn) throws Exception;
+    public abstract double calculatePay(PayrollInput input);
 
     /**
      * [BARU] Metode abstrak untuk memecah komponen gaji (Polimorfisme).
@@ -0,0 +1,251 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EmployeeDirectory - Cache bersama (thread-safe) untuk data karyawan + gaji pokok golongan.
+ * - Dimuat sekali (employees + salary_scale), pembacaan berikutnya dari memori.
+ * - Index: id, nama (lowercase), tipe, golongan.
+ * - Di-patch oleh method tulis EmployeeRepository; TTL sebagai pengaman jika DB diubah dari luar aplikasi.
+ * - Data disimpan sebagai Entry immutable; pemanggil selalu mendapat objek Employee baru
+ *   sehingga boleh diubah/diurutkan tanpa merusak cache.
+ */
+public class EmployeeDirectory {
+
+    // TTL bisa diatur lewat -Dpayroll.directory.ttlMs=...
+    private static final long TTL_MS = Long.getLong("payroll.directory.ttlMs", 300_000L);
+
+    private static final EmployeeDirectory SHARED = new EmployeeDirectory();
+
+    public static EmployeeDirectory shared() {
+        return SHARED;
+    }
+
+    /**
+     * Satu karyawan (immutable).
+     */
+    public static final class Entry {
+        public final int id;
+        public final String name;
+        public final String type;
+        public final Integer golongan;
+        public final double baseSalary;
+        public final boolean active;
+
+        Entry(int id, String name, String type, Integer golongan, double baseSalary, boolean active) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.golongan = golongan;
+            this.baseSalary = baseSalary;
+            this.active = active;
+        }
+
+        boolean isPartTime() {
+            return "PARTTIME".equalsIgnoreCase(type);
+        }
+
+        public Employee toEmployee() {
+            Employee emp = isPartTime()
+                    ? new PartTimeEmployee(id, name, active)
+                    : new FullTimeEmployee(id, name, baseSalary, active);
+            emp.setGolongan(golongan);
+            return emp;
+        }
+    }
+
+    // Snapshot immutable: semua index dibangun ulang bersama agar selalu konsisten satu sama lain
+    private static final class Snapshot {
+        final Map<Integer, Entry> byId;                  // urutan: aktif dulu, lalu nama (sama seperti query lama)
+        final Map<String, List<Entry>> byNameLower;
+        final Map<String, List<Entry>> byType;
+        final Map<Integer, List<Entry>> byGolongan;
+        final Map<Integer, Double> salaryScale;
+        final long loadedAt;
+
+        Snapshot(List<Entry> entries, Map<Integer, Double> salaryScale, long loadedAt) {
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(ORDER);
+
+            Map<Integer, Entry> id = new LinkedHashMap<>();
+            Map<String, List<Entry>> name = new HashMap<>();
+            Map<String, List<Entry>> type = new HashMap<>();
+            Map<Integer, List<Entry>> gol = new HashMap<>();
+            for (Entry e : sorted) {
+                id.put(e.id, e);
+                name.computeIfAbsent(e.name.toLowerCase(), k -> new ArrayList<>()).add(e);
+                type.computeIfAbsent(e.type.toUpperCase(), k -> new ArrayList<>()).add(e);
+                if (e.golongan != null) gol.computeIfAbsent(e.golongan, k -> new ArrayList<>()).add(e);
+            }
+            this.byId = Collections.unmodifiableMap(id);
+            this.byNameLower = name;
+            this.byType = type;
+            this.byGolongan = gol;
+            this.salaryScale = Collections.unmodifiableMap(salaryScale);
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry e) -> !e.active)
+            .thenComparing(e -> e.name, String.CASE_INSENSITIVE_ORDER);
+
+    private volatile Snapshot snapshot = null;
+
+    // --- Read API ---
+
+    /**
+     * @return Semua karyawan (list baru, boleh diurutkan ulang oleh pemanggil).
+     */
+    public List<Employee> findAll() {
+        return toEmployees(current().byId.values());
+    }
+
+    public Employee findById(int id) {
+        Entry e = current().byId.get(id);
+        return e == null ? null : e.toEmployee();
+    }
+
+    /**
+     * Cari berdasarkan nama persis (case-insensitive). Urutan: aktif dulu, lalu nama.
+     */
+    public List<Employee> findByName(String name) {
+        if (name == null) return new ArrayList<>();
+        return toEmployees(current().byNameLower.getOrDefault(name.trim().toLowerCase(), List.of()));
+    }
+
+    public List<Employee> findByType(String type) {
+        if (type == null) return new ArrayList<>();
+        return toEmployees(current().byType.getOrDefault(type.toUpperCase(), List.of()));
+    }
+
+    public List<Employee> findByGolongan(int golongan) {
+        return toEmployees(current().byGolongan.getOrDefault(golongan, List.of()));
+    }
+
+    /**
+     * @param type "FULLTIME"/"PARTTIME", atau null untuk semua tipe.
+     */
+    public int countActive(String type) {
+        Snapshot s = current();
+        Iterable<Entry> source = type == null
+                ? s.byId.values()
+                : s.byType.getOrDefault(type.toUpperCase(), List.of());
+        int n = 0;
+        for (Entry e : source) if (e.active) n++;
+        return n;
+    }
+
+    public int countInactive() {
+        int n = 0;
+        for (Entry e : current().byId.values()) if (!e.active) n++;
+        return n;
+    }
+
+    // --- Write-through (dipanggil oleh EmployeeRepository setelah DB berhasil diubah) ---
+
+    public synchronized void onInserted(int id, String name, String type, Integer golongan, boolean active) {
+        Snapshot s = snapshot;
+        if (s == null) return; // belum pernah dimuat: load berikutnya akan membaca dari DB
+        Map<Integer, Entry> copy = new HashMap<>(s.byId);
+        copy.put(id, new Entry(id, name, type, golongan, baseSalaryOf(s, type, golongan), active));
+        snapshot = new Snapshot(new ArrayList<>(copy.values()), s.salaryScale, s.loadedAt);
+    }
+
+    public synchronized void onStatusChanged(int id, boolean active) {
+        Snapshot s = snapshot;
+        if (s == null) return;
+        Entry old = s.byId.get(id);
+        if (old == null) { invalidate(); return; }
+        onInserted(id, old.name, old.type, old.golongan, active);
+    }
+
+    public synchronized void onTypeGolonganChanged(int id, String type, Integer golongan) {
+        Snapshot s = snapshot;
+        if (s == null) return;
+        Entry old = s.byId.get(id);
+        if (old == null) { invalidate(); return; }
+        onInserted(id, old.name, type, golongan, old.active);
+    }
+
+    public synchronized void onDeleted(int id) {
+        Snapshot s = snapshot;
+        if (s == null || !s.byId.containsKey(id)) return;
+        Map<Integer, Entry> copy = new HashMap<>(s.byId);
+        copy.remove(id);
+        snapshot = new Snapshot(new ArrayList<>(copy.values()), s.salaryScale, s.loadedAt);
+    }
+
+    /**
+     * Buang cache; pembacaan berikutnya memuat ulang dari DB.
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+        PayrollResultCache.shared().invalidateAll();
+    }
+
+    // --- Internal ---
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() - s.loadedAt < TTL_MS) return s;
+        return reload();
+    }
+
+    private synchronized Snapshot reload() {
+        // Cek ulang: thread lain mungkin sudah memuat selagi kita menunggu lock
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() - s.loadedAt < TTL_MS) return s;
+
+        List<Entry> entries = new ArrayList<>();
+        Map<Integer, Double> scale = new HashMap<>();
+        try (Connection conn = DB.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement("SELECT golongan, base_salary FROM salary_scale");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) scale.put(rs.getInt("golongan"), rs.getDouble("base_salary"));
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT id, name, employment_type, golongan, is_active FROM employees");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int gol = rs.getInt("golongan");
+                    Integer golongan = rs.wasNull() ? null : gol;
+                    String type = rs.getString("employment_type");
+                    entries.add(new Entry(
+                            rs.getInt("id"),
+                            rs.getString("name"),
+                            type == null ? "FULLTIME" : type,
+                            golongan,
+                            golongan == null ? 0.0 : scale.getOrDefault(golongan, 0.0),
+                            rs.getBoolean("is_active")));
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            // Pakai data lama jika ada; jika belum pernah berhasil, kembalikan kosong tanpa di-cache
+            return s != null ? s : new Snapshot(List.of(), Map.of(), 0L);
+        }
+
+        s = new Snapshot(entries, scale, System.currentTimeMillis());
+        snapshot = s;
+        return s;
+    }
+
+    private static double baseSalaryOf(Snapshot s, String type, Integer golongan) {
+        if ("PARTTIME".equalsIgnoreCase(type) || golongan == null) return 0.0;
+        return s.salaryScale.getOrDefault(golongan, 0.0);
+    }
+
+    private static List<Employee> toEmployees(Iterable<Entry> entries) {
+        List<Employee> out = new ArrayList<>();
+        for (Entry e : entries) out.add(e.toEmployee());
+        return out;
+    }
+}
@@ -1,23 +1,25 @@
 import java.awt.*;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Types;
 import java.time.YearMonth;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 
 /**
  * EmployeePanel - Updated Logic
  * - Toggle Status hanya input Nama (ID otomatis dicari).
  * - [BARU] Tambah Dropdown Sort ID/Nama di atas tabel.
  */
-public class EmployeePanel extends JPanel {
-
-    private DefaultTableModel tableModel;
+public class EmployeePanel extends JPanel implements ManagedView {
+
+    private RowTableModel<Employee> tableModel;
+    private RowView<Employee> view;
+    private RowPager<Employee, EmployeeQuery.Cursor> pager;
+    private EmployeeQuery activeQuery = EmployeeQuery.all(); // Filter / pencarian terakhir
+    // TRUE: semua karyawan sudah di model -> filter & sort di sisi klien; FALSE: paging di SQL; null: belum tahu
+    private Boolean baseComplete;
+    private PanelLoader loader;
     private JTable table;
 
     // Filter Components (Left - Bottom)
@@ -41,7 +43,7 @@ public class EmployeePanel extends JPanel {
     private JButton executeStatusBtn;
     private int selectedIdForStatus = -1; 
 
-    private final EmployeeRepository repo = new EmployeeRepository();
+    private final PayrollRepository repo = Repositories.get();
 
     public EmployeePanel() {
         setLayout(new BorderLayout());
@@ -61,15 +63,21 @@ public class EmployeePanel extends JPanel {
         loadAll();
     }
 
+    // [BARU] ManagedView: panel dipakai ulang oleh LandingPanel (ViewRegistry), dimuat ulang hanya jika datanya basi
+    @Override
+    public void onActivate(boolean stale) {
+        if (stale) reload();
+    }
+
+    @Override
+    public boolean onDeactivate() {
+        if (!loader.isLoading()) return false;
+        loader.cancel();
+        return true;
+    }
+
     private JPanel buildLeft() {
-        JPanel card = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_table.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel card = new BackgroundPanel(new BorderLayout(), "assets/img/bg_table.png");
         
         UIConstants.styleCardPanel(card);
 
@@ -93,26 +101,34 @@ public class EmployeePanel extends JPanel {
 
         sortBox = new JComboBox<>(new String[]{"ID", "Nama"});
         sortBox.setFont(UIConstants.BODY_FONT);
-        // Listener: Cek kondisi UI untuk menentukan reload yang mana (Search/Filter/All)
-        sortBox.addActionListener(e -> {
-            String k = searchField.getText().trim();
-            boolean isFilterActive = valueBox.isEnabled() && valueBox.getSelectedItem() != null;
-            
-            if (!k.isEmpty()) doSearch();
-            else if (isFilterActive) doFilter();
-            else loadAll();
-        });
+        // [UPDATED] Sort di sisi klien (RowView): filter / pencarian yang aktif tetap dipakai, tanpa query ulang
+        sortBox.addActionListener(e -> applyView());
         sortPanel.add(sortBox);
 
         headerPanel.add(sortPanel, BorderLayout.EAST);
+
+        // [BARU] Status loading (progres baris)
+        JLabel loadStatusLabel = new JLabel(" ");
+        UIConstants.applyBodyLabel(loadStatusLabel);
+        loadStatusLabel.setForeground(UIConstants.GRAY);
+        loadStatusLabel.setBorder(BorderFactory.createEmptyBorder(0, 15, 0, 0));
+        headerPanel.add(loadStatusLabel, BorderLayout.CENTER);
+        loader = new PanelLoader(this, loadStatusLabel, "Error load: ");
+
         card.add(headerPanel, BorderLayout.NORTH);
 
         // --- TABLE ---
-        tableModel = new DefaultTableModel(new String[]{"ID","Nama","Tipe","Gol", "Status"}, 0) {
-            @Override public boolean isCellEditable(int row, int column) { return false; }
-        };
+        // [UPDATED] Model bersama: baris = objek Employee, isi tabel diganti sekaligus (setRows)
+        tableModel = new RowTableModel<>(
+            RowTableModel.column("ID", Employee::getId),
+            RowTableModel.column("Nama", e -> capitalizeEachWord(e.getName())),
+            RowTableModel.column("Tipe", Employee::getEmploymentType),
+            RowTableModel.column("Gol", e -> e.getGolongan() == null ? "-" : String.valueOf(e.getGolongan())),
+            RowTableModel.column("Status", e -> e.isActive() ? "Aktif" : "Non-Aktif")
+        );
         table = new JTable(tableModel);
         UIConstants.styleTable(table);
+        view = new RowView<>(table, tableModel);
         
         table.setOpaque(false);
         ((DefaultTableCellRenderer)table.getDefaultRenderer(Object.class)).setOpaque(false);
@@ -125,7 +141,7 @@ public class EmployeePanel extends JPanel {
             public void mouseClicked(java.awt.event.MouseEvent evt) {
                 int r = table.getSelectedRow();
                 if (r >= 0) {
-                    int id = (int) tableModel.getValueAt(r, 0);
+                    int id = view.rowAtView(r).getId(); // Index tampilan -> baris model
                     populateRightFields(id);
                 }
             }
@@ -136,6 +152,7 @@ public class EmployeePanel extends JPanel {
         sp.getViewport().setOpaque(false);
         sp.setBorder(BorderFactory.createEmptyBorder());
         card.add(sp, BorderLayout.CENTER);
+        pager = new RowPager<>(sp, tableModel, loader, () -> {});
 
         // --- FILTER AREA (Bottom) ---
         JPanel filters = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 8));
@@ -176,14 +193,7 @@ public class EmployeePanel extends JPanel {
     }
 
     private JPanel buildRight() {
-        JPanel card = new JPanel(new GridBagLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_manage.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel card = new BackgroundPanel(new GridBagLayout(), "assets/img/bg_manage.png");
 
         UIConstants.styleCardPanel(card);
 
@@ -310,42 +320,50 @@ public class EmployeePanel extends JPanel {
         }
     }
 
-    // [BARU] Helper Sorting
-    private void sortList(List<Employee> list) {
-        if (sortBox == null) return;
-        String mode = (String) sortBox.getSelectedItem();
-        if ("Nama".equals(mode)) {
-            list.sort((e1, e2) -> e1.getName().compareToIgnoreCase(e2.getName()));
-        } else {
-            list.sort(Comparator.comparingInt(Employee::getId)); // Default ID
-        }
-    }
+    // [BARU] Kunci sort (nama lowercase di-cache RowView per baris)
+    private static final Function<Employee, Integer> BY_ID = Employee::getId;
+    private static final Function<Employee, String> BY_NAME = e -> e.getName().toLowerCase(Locale.ROOT);
 
+    // [UPDATED] loadAll: muat ulang dari halaman pertama tanpa filter (background lewat PanelLoader + RowPager)
     private void loadAll() {
-        tableModel.setRowCount(0);
-        try {
-            List<Employee> list = repo.findAll();
-            sortList(list); // Apply Sort
-            for (Employee e : list) {
-                addEmployeeToTable(e);
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error load: " + ex.getMessage());
+        activeQuery = EmployeeQuery.all();
+        baseComplete = null;
+        applyView();
+    }
+
+    // Muat ulang data dengan filter / pencarian yang sedang dipakai
+    private void reload() {
+        baseComplete = null;
+        applyView();
+    }
+
+    /**
+     * [UPDATED] Terapkan filter / pencarian + sort.
+     * - Semua karyawan muat dalam satu halaman: di sisi klien (RowView), tanpa query.
+     * - Tenant besar: filter & urutan dikirim ke SQL, halaman berikutnya dimuat saat scroll (RowPager).
+     */
+    private void applyView() {
+        EmployeeQuery query = activeQuery.sortedBy("Nama".equals(sortBox.getSelectedItem()) ? EmployeeQuery.Sort.NAME : EmployeeQuery.Sort.ID);
+
+        if (Boolean.TRUE.equals(baseComplete)) {
+            view.apply(query.sort == EmployeeQuery.Sort.NAME ? BY_NAME : BY_ID, query.hasUserFilter() ? query::matches : null);
+            return;
+        }
+
+        view.apply(null, null); // Urutan & filter dari SQL
+        if (baseComplete == null) {
+            pager.start(source(EmployeeQuery.all().sortedBy(query.sort)), () -> {
+                baseComplete = pager.isComplete();
+                if (baseComplete || query.hasUserFilter()) applyView();
+            });
+        } else {
+            pager.start(source(query), null);
         }
     }
 
-    private void addEmployeeToTable(Employee e) {
-        Integer golNullable = getGolonganNullable(e.getId());
-        String golDisplay = golNullable == null ? "-" : String.valueOf(golNullable);
-        String statusStr = e.isActive() ? "Aktif" : "Non-Aktif";
-        tableModel.addRow(new Object[]{
-            e.getId(), 
-            capitalizeEachWord(e.getName()), 
-            e.getEmploymentType(), 
-            golDisplay, 
-            statusStr
-        });
+    private RowPager.Source<Employee, EmployeeQuery.Cursor> source(EmployeeQuery query) {
+        int limit = RowPager.PAGE_SIZE;
+        return after -> RowPager.Page.of(repo.findEmployeesPage(query, after, limit + 1), limit, EmployeeQuery.Cursor::after);
     }
 
     private void populateRightFields(int id) {
@@ -355,7 +373,7 @@ public class EmployeePanel extends JPanel {
             
             nameField.setText(capitalizeEachWord(e.getName()));
             typeField.setSelectedItem(e.getEmploymentType());
-            Integer gol = getGolonganNullable(id);
+            Integer gol = e.getGolongan();
             golonganField.setSelectedItem(gol == null ? "-" : String.valueOf(gol));
             
             statusNameField.setText(capitalizeEachWord(e.getName()));
@@ -368,55 +386,27 @@ public class EmployeePanel extends JPanel {
     }
 
     private void doFilter() {
-        tableModel.setRowCount(0);
         String f = (String) filterBox.getSelectedItem();
         String v = valueBox.isEnabled() && valueBox.getSelectedItem() != null ? (String) valueBox.getSelectedItem() : null;
-        try {
-            List<Employee> list = repo.findAll();
-            sortList(list); // Apply Sort
-            
-            for (Employee e : list) {
-                boolean show = true;
-                if ("Golongan".equalsIgnoreCase(f) && v != null) {
-                    Integer gol = getGolonganNullable(e.getId());
-                    show = gol != null && String.valueOf(gol).equals(v);
-                } else if ("Tipe".equalsIgnoreCase(f) && v != null) {
-                    show = e.getEmploymentType().equalsIgnoreCase(v);
-                } else if ("Status".equalsIgnoreCase(f) && v != null) {
-                    boolean wantActive = "Aktif".equalsIgnoreCase(v);
-                    show = (e.isActive() == wantActive);
-                }
-                if (show) addEmployeeToTable(e);
-            }
-        } catch (Exception ex) { ex.printStackTrace(); }
+
+        if (v == null) {
+            activeQuery = EmployeeQuery.all();
+        } else if ("Golongan".equalsIgnoreCase(f)) {
+            activeQuery = EmployeeQuery.all().withGolongan(Integer.valueOf(v));
+        } else if ("Tipe".equalsIgnoreCase(f)) {
+            activeQuery = EmployeeQuery.all().withType(v);
+        } else if ("Status".equalsIgnoreCase(f)) {
+            activeQuery = EmployeeQuery.all().withActive("Aktif".equalsIgnoreCase(v));
+        } else {
+            activeQuery = EmployeeQuery.all();
+        }
+        applyView();
     }
     
     private void doSearch() {
-        String k = searchField.getText().trim().toLowerCase();
-        tableModel.setRowCount(0);
-        try {
-            List<Employee> list = repo.findAll();
-            sortList(list); // Apply Sort
-            
-            for (Employee e : list) {
-                if (e.getName().toLowerCase().contains(k)) addEmployeeToTable(e);
-            }
-        } catch (Exception ex) { ex.printStackTrace(); }
-    }
-
-    private Integer getGolonganNullable(int id) {
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement("SELECT golongan FROM employees WHERE id=?")) {
-            ps.setInt(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    int v = rs.getInt(1);
-                    if (rs.wasNull()) return null;
-                    return v;
-                }
-            }
-        } catch (Exception e) { e.printStackTrace(); }
-        return null;
+        // Awalan nama (case-insensitive), sama di SQL maupun di sisi klien
+        activeQuery = EmployeeQuery.all().withNamePrefix(searchField.getText());
+        applyView();
     }
 
     // --- LOGIKA SAVE/UPDATE ---
@@ -437,31 +427,20 @@ public class EmployeePanel extends JPanel {
             gol = Integer.parseInt(golSel);
         }
 
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement(
-                     "SELECT id, employment_type, golongan FROM employees WHERE LOWER(name) = ?")) {
-
-            ps.setString(1, rawName.toLowerCase());
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    // Update
-                    int existingId = rs.getInt("id");
-                    int c = JOptionPane.showConfirmDialog(this, 
-                         "Nama karyawan sudah ada. Update data (Tipe/Golongan)?", 
-                         "Konfirmasi Update", JOptionPane.YES_NO_OPTION);
-                    if (c != JOptionPane.YES_OPTION) return;
-
-                    try (PreparedStatement upd = conn.prepareStatement(
-                            "UPDATE employees SET employment_type=?, golongan=? WHERE id=?")) {
-                        upd.setString(1, type);
-                        if (gol == null) upd.setNull(2, Types.INTEGER); else upd.setInt(2, gol);
-                        upd.setInt(3, existingId);
-                        upd.executeUpdate();
-                    }
-                    JOptionPane.showMessageDialog(this, "Data Karyawan Diperbarui.");
-                    loadAll();
-                    return;
-                }
+        try {
+            List<Employee> existing = repo.findByName(rawName);
+            if (!existing.isEmpty()) {
+                // Update
+                int existingId = existing.get(0).getId();
+                int c = JOptionPane.showConfirmDialog(this, 
+                     "Nama karyawan sudah ada. Update data (Tipe/Golongan)?", 
+                     "Konfirmasi Update", JOptionPane.YES_NO_OPTION);
+                if (c != JOptionPane.YES_OPTION) return;
+
+                repo.updateTypeAndGolongan(existingId, type, gol);
+                JOptionPane.showMessageDialog(this, "Data Karyawan Diperbarui.");
+                loadAll();
+                return;
             }
 
             // Insert
@@ -487,21 +466,17 @@ public class EmployeePanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Masukkan nama karyawan dulu.");
             return;
         }
-        String sql = "SELECT id FROM employees WHERE LOWER(name) = LOWER(?) ORDER BY id DESC LIMIT 1";
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, name);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    int id = rs.getInt("id");
-                    Employee e = repo.findById(id); 
-                    updateStatusButtonState(e); 
-                } else {
-                    JOptionPane.showMessageDialog(this, "Karyawan tidak ditemukan.");
-                    resetStatusButton();
-                }
-            }
-        } catch (Exception e) { e.printStackTrace(); }
+        // ID terbesar jika ada nama kembar (sama seperti ORDER BY id DESC LIMIT 1)
+        Employee found = null;
+        for (Employee e : repo.findByName(name)) {
+            if (found == null || e.getId() > found.getId()) found = e;
+        }
+        if (found != null) {
+            updateStatusButtonState(found);
+        } else {
+            JOptionPane.showMessageDialog(this, "Karyawan tidak ditemukan.");
+            resetStatusButton();
+        }
     }
 
     private void updateStatusButtonState(Employee e) {
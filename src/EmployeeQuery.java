@@ -0,0 +1,125 @@
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * EmployeeQuery - Filter + urutan untuk query karyawan per halaman (keyset pagination).
+ * - Immutable; ubah lewat withXxx() yang mengembalikan objek baru.
+ * - Filter yang sama dipakai di SQL (EmployeeRepository) dan di memori (matches / InMemoryPayrollRepository),
+ *   sehingga hasil paging server dan filter sisi klien selalu sama.
+ * - Halaman berikutnya dimulai setelah Cursor (kunci sort + id), bukan OFFSET.
+ */
+public final class EmployeeQuery {
+
+    public enum Sort { ID, NAME }
+
+    public final String type;        // "FULLTIME"/"PARTTIME", null = semua
+    public final Integer golongan;   // null = semua
+    public final Boolean active;     // null = semua
+    public final String namePrefix;  // awalan nama (case-insensitive), null = semua
+    public final Sort sort;
+    // Hanya karyawan yang belum PAID pada periode ini (PayrollPanel), 0 = tidak dipakai
+    public final int unpaidYear;
+    public final int unpaidMonth;
+
+    private EmployeeQuery(String type, Integer golongan, Boolean active, String namePrefix, Sort sort,
+                          int unpaidYear, int unpaidMonth) {
+        this.type = type;
+        this.golongan = golongan;
+        this.active = active;
+        this.namePrefix = namePrefix;
+        this.sort = sort;
+        this.unpaidYear = unpaidYear;
+        this.unpaidMonth = unpaidMonth;
+    }
+
+    private static final EmployeeQuery ALL = new EmployeeQuery(null, null, null, null, Sort.ID, 0, 0);
+
+    // Semua karyawan, urut ID
+    public static EmployeeQuery all() {
+        return ALL;
+    }
+
+    public EmployeeQuery withType(String type) {
+        String t = (type == null || type.isBlank() || "All".equalsIgnoreCase(type)) ? null : type.trim().toUpperCase(Locale.ROOT);
+        return new EmployeeQuery(t, golongan, active, namePrefix, sort, unpaidYear, unpaidMonth);
+    }
+
+    public EmployeeQuery withGolongan(Integer golongan) {
+        return new EmployeeQuery(type, golongan, active, namePrefix, sort, unpaidYear, unpaidMonth);
+    }
+
+    public EmployeeQuery withActive(Boolean active) {
+        return new EmployeeQuery(type, golongan, active, namePrefix, sort, unpaidYear, unpaidMonth);
+    }
+
+    public EmployeeQuery withNamePrefix(String prefix) {
+        String p = (prefix == null || prefix.trim().isEmpty()) ? null : prefix.trim();
+        return new EmployeeQuery(type, golongan, active, p, sort, unpaidYear, unpaidMonth);
+    }
+
+    public EmployeeQuery sortedBy(Sort sort) {
+        return new EmployeeQuery(type, golongan, active, namePrefix, sort, unpaidYear, unpaidMonth);
+    }
+
+    public EmployeeQuery unpaidIn(int year, int month) {
+        return new EmployeeQuery(type, golongan, active, namePrefix, sort, year, month);
+    }
+
+    public boolean hasUnpaidPeriod() {
+        return unpaidYear > 0;
+    }
+
+    /**
+     * Filter yang dipilih user (tipe, golongan, status, nama). Tanpa filter ini hasil query = dataset dasar panel.
+     */
+    public boolean hasUserFilter() {
+        return type != null || golongan != null || active != null || namePrefix != null;
+    }
+
+    /**
+     * Filter yang sama seperti WHERE di SQL (tanpa syarat unpaidIn yang butuh data payroll).
+     */
+    public boolean matches(Employee e) {
+        if (type != null && !type.equalsIgnoreCase(e.getEmploymentType())) return false;
+        if (golongan != null && !golongan.equals(e.getGolongan())) return false;
+        if (active != null && active != e.isActive()) return false;
+        if (namePrefix != null && !e.getName().regionMatches(true, 0, namePrefix, 0, namePrefix.length())) return false;
+        return true;
+    }
+
+    // Urutan yang sama seperti ORDER BY di SQL (nama case-insensitive, lalu id)
+    public Comparator<Employee> comparator() {
+        Comparator<Employee> byId = Comparator.comparingInt(Employee::getId);
+        if (sort == Sort.NAME) return Comparator.comparing(Employee::getName, String.CASE_INSENSITIVE_ORDER).thenComparing(byId);
+        return byId;
+    }
+
+    /**
+     * Posisi terakhir halaman sebelumnya: (kunci sort, id). name hanya dipakai jika sort = NAME.
+     */
+    public static final class Cursor {
+        public final String name;
+        public final int id;
+
+        public Cursor(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        public static Cursor after(Employee last) {
+            return new Cursor(last.getName(), last.getId());
+        }
+    }
+
+    /**
+     * true jika e berada setelah cursor menurut urutan query ini.
+     */
+    public boolean isAfter(Employee e, Cursor cursor) {
+        if (cursor == null) return true;
+        if (sort == Sort.NAME) {
+            int c = String.CASE_INSENSITIVE_ORDER.compare(e.getName(), cursor.name);
+            if (c != 0) return c > 0;
+        }
+        return e.getId() > cursor.id;
+    }
+}
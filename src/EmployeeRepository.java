@@ -1,147 +1,86 @@
 import java.sql.*;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-
+/**
+ * EmployeeRepository - Implementasi PayrollRepository untuk MySQL (lihat DB).
+ * Data karyawan dibaca lewat EmployeeDirectory, setting lewat AppSettings.
+ */
 public class EmployeeRepository implements PayrollRepository {
     /*
      * @return Tarif harian Part-Time (double). Default 100_000.0 jika gagal.
+     * Dibaca dari cache AppSettings (tidak query app_settings setiap kali).
      */
     public double getPartTimeDailyRate() {
-        double rate = 100_000.0;
-        String sql = "SELECT setting_value FROM app_settings WHERE setting_key = 'PARTTIME_DAILY_RATE'";
-        
-        try (Connection conn = DB.getConnection();
-             Statement st = conn.createStatement();
-             ResultSet rs = st.executeQuery(sql)) {
-            
-            if (rs.next()) rate = rs.getDouble("setting_value");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return rate;
+        return AppSettings.getPartTimeDailyRate();
+    }
+
+    // Cache karyawan bersama (dipakai semua instance repository)
+    private final EmployeeDirectory directory = EmployeeDirectory.shared();
+    // Cache hasil perhitungan payroll per bulan (bersama, sama seperti directory)
+    private final PayrollResultCache results = PayrollResultCache.shared();
+    // Snapshot bulan lunas (bersama; file opsional lewat -Dpayroll.snapshot.dir)
+    private final PaidSnapshotStore paidSnapshots = PaidSnapshotStore.shared();
+
+    @Override
+    public PayrollResultCache resultCache() {
+        return results;
+    }
+
+    @Override
+    public PaidSnapshotStore paidSnapshots() {
+        return paidSnapshots;
     }
 
     // --- IMPLEMENTASI METODE DARI PAYROLLREPOSITORY ---
+    /**
+     * [UPDATED] Dibaca dari EmployeeDirectory (memori), bukan JOIN salary_scale setiap kali.
+     * Urutan tetap: aktif dulu, lalu nama.
+     */
     @Override
     public List<Employee> findAll() {
-        List<Employee> out = new ArrayList<>();
-        String sql = """
-            SELECT e.id, e.name, e.employment_type, e.golongan, e.is_active,
-                   COALESCE(s.base_salary,0) AS base_salary 
-            FROM employees e
-            LEFT JOIN salary_scale s ON e.golongan = s.golongan
-            ORDER BY e.is_active DESC, e.name ASC
-        """;
-        
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            while (rs.next()) {
-                int id = rs.getInt("id");
-                String name = rs.getString("name"); 
-                String type = rs.getString("employment_type"); 
-                boolean active = rs.getBoolean("is_active"); 
-                
-                // Menggunakan string "PARTTIME" yang akan dikonversi ke Enum di dalam Constructor
-                if ("PARTTIME".equalsIgnoreCase(type)) {
-                    out.add(new PartTimeEmployee(id, name, active));
-                } else {
-                    double base = rs.getDouble("base_salary");
-                    out.add(new FullTimeEmployee(id, name, base, active));
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return out;
+        return directory.findAll();
     }
 
     @Override
     public Employee findById(int id) {
-        String sql = """
-            SELECT e.id, e.name, e.employment_type, e.golongan, e.is_active,
-                   COALESCE(s.base_salary,0) AS base_salary
-            FROM employees e
-            LEFT JOIN salary_scale s ON e.golongan = s.golongan
-            WHERE e.id = ?
-        """;
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (!rs.next()) return null;
-                String name = rs.getString("name");
-                String type = rs.getString("employment_type");
-                boolean active = rs.getBoolean("is_active");
-
-                if ("PARTTIME".equalsIgnoreCase(type)) return new PartTimeEmployee(id, name, active);
-                return new FullTimeEmployee(id, name, rs.getDouble("base_salary"), active);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+        return directory.findById(id);
     }
 
     @Override
     public int countAll() {
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) AS c FROM employees WHERE is_active=1");
-             ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) return rs.getInt("c");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return 0;
+        return directory.countActive(null);
     }
 
     @Override
     public int countFullTime() {
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) AS c FROM employees WHERE employment_type='FULLTIME' AND is_active=1"); 
-             ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) return rs.getInt("c");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return 0;
+        return directory.countActive("FULLTIME");
     }
 
     @Override
     public int countPartTime() {
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) AS c FROM employees WHERE employment_type='PARTTIME' AND is_active=1");
-             ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) return rs.getInt("c");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return 0;
+        return directory.countActive("PARTTIME");
     }
 
     @Override
     public int countInactive() {
-    try (Connection conn = DB.getConnection();
-         PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) AS c FROM employees WHERE is_active=0");
-         ResultSet rs = ps.executeQuery()) {
-        if (rs.next()) return rs.getInt("c");
-    } catch (Exception e) {
-        e.printStackTrace();
+        return directory.countInactive();
     }
-    return 0;
-}
 
     @Override
     public List<OvertimeEntry> findOvertimeEntriesForMonth(int empId, int year, int month) {
         List<OvertimeEntry> out = new ArrayList<>();
-        String sql = "SELECT id, employee_id, ot_date, start_time, end_time FROM overtime_entries WHERE employee_id=? AND YEAR(ot_date)=? AND MONTH(ot_date)=? ORDER BY ot_date, start_time";
+        // Rentang tanggal half-open [awal bulan, awal bulan berikutnya) agar index (employee_id, ot_date) terpakai
+        String sql = "SELECT id, employee_id, ot_date, start_time, end_time FROM overtime_entries WHERE employee_id=? AND ot_date >= ? AND ot_date < ? ORDER BY ot_date, start_time";
         try (Connection conn = DB.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, empId);
-            ps.setInt(2, year);
-            ps.setInt(3, month);
+            setMonthRange(ps, 2, year, month);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
                     int id = rs.getInt("id");
@@ -160,21 +99,156 @@ public class EmployeeRepository implements PayrollRepository {
     }
 
     @Override
-    public int insertOvertimeEntry(int employeeId, Date otDate, Time startTime, Time endTime) {
-        String sql = "INSERT INTO overtime_entries (employee_id, ot_date, start_time, end_time) VALUES (?, ?, ?, ?)";
+    public DashboardStats getDashboardStats(int year, int month) {
+        String sql = """
+            SELECT COALESCE(SUM(e.is_active = 1), 0) AS total_active,
+                   COALESCE(SUM(e.is_active = 1 AND e.employment_type = 'FULLTIME'), 0) AS fulltime,
+                   COALESCE(SUM(e.is_active = 1 AND e.employment_type = 'PARTTIME'), 0) AS parttime,
+                   COALESCE(SUM(e.is_active = 0), 0) AS inactive,
+                   (SELECT COALESCE(SUM(p.total_salary), 0) FROM payrolls p
+                     WHERE p.year = ? AND p.month = ? AND p.status = 'PAID') AS paid_total
+            FROM employees e
+        """;
         try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, year);
+            ps.setInt(2, month);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new DashboardStats(
+                        rs.getInt("total_active"),
+                        rs.getInt("fulltime"),
+                        rs.getInt("parttime"),
+                        rs.getInt("inactive"),
+                        rs.getDouble("paid_total")
+                    );
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
 
-            ps.setInt(1, employeeId);
-            ps.setDate(2, otDate);
-            ps.setTime(3, startTime);
-            ps.setTime(4, endTime);
+    /**
+     * [UPDATED] Bulk: menit lembur per karyawan per tanggal pada bulan tsb (input PayrollInput).
+     * Dibaca dari overtime_monthly_summary (satu baris per karyawan), bukan agregasi overtime_entries.
+     */
+    @Override
+    public Map<Integer, int[]> findOvertimeMinutesForMonth(int year, int month) throws Exception {
+        Map<Integer, int[]> out = new HashMap<>();
+        for (OvertimeSummary s : findOvertimeSummariesForMonth(year, month).values()) {
+            out.put(s.employeeId, s.dayMinutes);
+        }
+        return out;
+    }
+
+    /**
+     * [BARU] Bulk: ringkasan lembur semua karyawan pada bulan tsb (overtime_monthly_summary).
+     */
+    @Override
+    public Map<Integer, OvertimeSummary> findOvertimeSummariesForMonth(int year, int month) throws Exception {
+        return findOvertimeSummaries(year, month, null);
+    }
+
+    // [BARU] Per halaman: menit lembur hanya untuk karyawan tertentu
+    @Override
+    public Map<Integer, int[]> findOvertimeMinutesForEmployees(int year, int month, Collection<Integer> employeeIds) throws Exception {
+        Map<Integer, int[]> out = new HashMap<>();
+        for (OvertimeSummary s : findOvertimeSummaries(year, month, employeeIds).values()) {
+            out.put(s.employeeId, s.dayMinutes);
+        }
+        return out;
+    }
+
+    // employeeIds null = semua karyawan
+    private Map<Integer, OvertimeSummary> findOvertimeSummaries(int year, int month, Collection<Integer> employeeIds) throws Exception {
+        Map<Integer, OvertimeSummary> out = new HashMap<>();
+        String sql = """
+            SELECT employee_id, weekday_minutes, weekend_minutes, day_minutes, version
+            FROM overtime_monthly_summary
+            WHERE year = ? AND month = ? AND weekday_minutes + weekend_minutes > 0
+        """;
+        try (Connection conn = DB.getConnection()) {
+            for (List<Integer> chunk : idChunks(employeeIds)) {
+                try (PreparedStatement ps = conn.prepareStatement(sql + inClause("employee_id", chunk))) {
+                    ps.setInt(1, year);
+                    ps.setInt(2, month);
+                    setIds(ps, 3, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            int empId = rs.getInt("employee_id");
+                            out.put(empId, new OvertimeSummary(empId, year, month,
+                                    rs.getInt("weekday_minutes"), rs.getInt("weekend_minutes"),
+                                    OvertimeSummary.decodeDays(rs.getBytes("day_minutes")), rs.getLong("version")));
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * [BARU] Bulk: parttime_days semua karyawan pada bulan tsb (employee_id -> hari).
+     */
+    @Override
+    public Map<Integer, Integer> findPartTimeDaysForMonth(int year, int month) throws Exception {
+        return findPartTimeDaysForEmployees(year, month, null);
+    }
+
+    // [BARU] Per halaman: hari Part-Time hanya untuk karyawan tertentu (null = semua)
+    @Override
+    public Map<Integer, Integer> findPartTimeDaysForEmployees(int year, int month, Collection<Integer> employeeIds) throws Exception {
+        Map<Integer, Integer> out = new HashMap<>();
+        String sql = "SELECT employee_id, parttime_days FROM work_records WHERE year=? AND month=?";
+        try (Connection conn = DB.getConnection()) {
+            for (List<Integer> chunk : idChunks(employeeIds)) {
+                try (PreparedStatement ps = conn.prepareStatement(sql + inClause("employee_id", chunk))) {
+                    ps.setInt(1, year);
+                    ps.setInt(2, month);
+                    setIds(ps, 3, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            out.putIfAbsent(rs.getInt("employee_id"), rs.getInt("parttime_days"));
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * [UPDATED] Insert entri + update overtime_monthly_summary dalam satu transaksi.
+     */
+    @Override
+    public int insertOvertimeEntry(int employeeId, Date otDate, Time startTime, Time endTime) {
+        String sql = "INSERT INTO overtime_entries (employee_id, ot_date, start_time, end_time) VALUES (?, ?, ?, ?)";
+        try (Connection conn = DB.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setInt(1, employeeId);
+                ps.setDate(2, otDate);
+                ps.setTime(3, startTime);
+                ps.setTime(4, endTime);
 
-            int affected = ps.executeUpdate();
-            if (affected == 0) return -1;
+                if (ps.executeUpdate() == 0) { conn.rollback(); return -1; }
 
-            try (ResultSet keys = ps.getGeneratedKeys()) {
-                if (keys.next()) return keys.getInt(1);
+                int id = -1;
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    if (keys.next()) id = keys.getInt(1);
+                }
+                OvertimeEntry entry = new OvertimeEntry(id, employeeId, otDate, startTime, endTime, false);
+                applySummaryDelta(conn, entry, 1);
+                conn.commit();
+                onOvertimeChanged(entry);
+                return id;
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -184,6 +258,7 @@ public class EmployeeRepository implements PayrollRepository {
 
     // --- METODE TAMBAHAN KHUSUS IMPLEMENTASI MYSQL ---
 
+    @Override
     public int getNextEmployeeId() throws Exception {
         int maxId = 0;
         String sql = "SELECT MAX(id) FROM employees";
@@ -197,6 +272,7 @@ public class EmployeeRepository implements PayrollRepository {
         return maxId > 0 ? maxId + 1 : 1; 
     }
     
+    @Override
     public int insertEmployee(int newId, String name, String type, Integer golongan) throws Exception {
         String sql = "INSERT INTO employees(id, name, golongan, employment_type, is_active) VALUES (?,?,?,?,1)";
         try (Connection conn = DB.getConnection();
@@ -211,11 +287,14 @@ public class EmployeeRepository implements PayrollRepository {
             }
             ps.setString(4, type);
             ps.executeUpdate();
+            directory.onInserted(newId, name, type, golongan, true);
+            results.onEmployeeChanged(newId);
             
             return newId;
         }
     }
 
+    @Override
     public void updateStatus(int id, boolean isActive) throws Exception {
         Employee e = findById(id); 
         if (e == null) throw new IllegalArgumentException("Karyawan tidak ditemukan.");
@@ -229,8 +308,98 @@ public class EmployeeRepository implements PayrollRepository {
             ps.setInt(2, id);
             ps.executeUpdate();
         }
+        directory.onStatusChanged(id, e.isActive());
+        results.onEmployeeChanged(id);
+    }
+
+    /**
+     * [BARU] Ubah tipe & golongan karyawan (sebelumnya UPDATE langsung di EmployeePanel).
+     */
+    @Override
+    public void updateTypeAndGolongan(int id, String type, Integer golongan) throws Exception {
+        String sql = "UPDATE employees SET employment_type=?, golongan=? WHERE id=?";
+        try (Connection conn = DB.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, type);
+            if (golongan == null) ps.setNull(2, Types.INTEGER); else ps.setInt(2, golongan);
+            ps.setInt(3, id);
+            ps.executeUpdate();
+        }
+        directory.onTypeGolonganChanged(id, type, golongan);
+        results.onEmployeeChanged(id);
+    }
+
+    /**
+     * [BARU] Cari karyawan berdasarkan nama persis (case-insensitive), dari cache.
+     */
+    @Override
+    public List<Employee> findByName(String name) {
+        return directory.findByName(name);
     }
 
+    /**
+     * [BARU] Keyset pagination: filter di WHERE, urutan (kunci sort, id), lanjut setelah cursor.
+     * Tidak lewat EmployeeDirectory agar tenant besar tidak perlu memuat semua karyawan.
+     */
+    @Override
+    public List<Employee> findEmployeesPage(EmployeeQuery query, EmployeeQuery.Cursor after, int limit) throws Exception {
+        List<Employee> out = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("""
+            SELECT e.id, e.name, e.employment_type, e.golongan, e.is_active, s.base_salary
+            FROM employees e
+            LEFT JOIN salary_scale s ON s.golongan = e.golongan
+            WHERE 1=1""");
+        List<Object> params = new ArrayList<>();
+        if (query.type != null) { sql.append(" AND e.employment_type = ?"); params.add(query.type); }
+        if (query.golongan != null) { sql.append(" AND e.golongan = ?"); params.add(query.golongan); }
+        if (query.active != null) { sql.append(" AND e.is_active = ?"); params.add(query.active ? 1 : 0); }
+        if (query.namePrefix != null) {
+            sql.append(" AND e.name LIKE ? ESCAPE '!'");
+            params.add(query.namePrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+        }
+        if (query.hasUnpaidPeriod()) {
+            // Memakai uq_payrolls_emp_period (employee_id, year, month)
+            sql.append(" AND NOT EXISTS (SELECT 1 FROM payrolls p WHERE p.employee_id = e.id"
+                    + " AND p.year = ? AND p.month = ? AND p.status = 'PAID')");
+            params.add(query.unpaidYear);
+            params.add(query.unpaidMonth);
+        }
+        if (query.sort == EmployeeQuery.Sort.NAME) {
+            // Kolasi kolom name case-insensitive, sama seperti EmployeeQuery.comparator()
+            if (after != null) {
+                sql.append(" AND (e.name > ? OR (e.name = ? AND e.id > ?))");
+                params.add(after.name); params.add(after.name); params.add(after.id);
+            }
+            sql.append(" ORDER BY e.name, e.id");
+        } else {
+            if (after != null) { sql.append(" AND e.id > ?"); params.add(after.id); }
+            sql.append(" ORDER BY e.id");
+        }
+        sql.append(" LIMIT ?");
+        params.add(limit);
+
+        try (Connection conn = DB.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int gol = rs.getInt("golongan");
+                    Integer golongan = rs.wasNull() ? null : gol;
+                    String type = rs.getString("employment_type");
+                    out.add(new EmployeeDirectory.Entry(
+                            rs.getInt("id"),
+                            rs.getString("name"),
+                            type == null ? "FULLTIME" : type,
+                            golongan,
+                            rs.getDouble("base_salary"), // NULL -> 0.0, sama seperti EmployeeDirectory
+                            rs.getBoolean("is_active")).toEmployee());
+                }
+            }
+        }
+        return out;
+    }
+
+    @Override
     public boolean hasFinancialHistory(int id) throws Exception {
         String sql = """
             (SELECT 1 FROM payrolls WHERE employee_id=? LIMIT 1)
@@ -250,22 +419,29 @@ public class EmployeeRepository implements PayrollRepository {
         }
     }
 
+    @Override
     public void deletePermanently(int id) throws Exception {
         try (Connection conn = DB.getConnection();
              PreparedStatement p0 = conn.prepareStatement("DELETE FROM overtime_entries WHERE employee_id=?");
+             PreparedStatement p0s = conn.prepareStatement("DELETE FROM overtime_monthly_summary WHERE employee_id=?");
              PreparedStatement p1 = conn.prepareStatement("DELETE FROM work_records WHERE employee_id=?");
              PreparedStatement p2 = conn.prepareStatement("DELETE FROM payment_logs WHERE payroll_id IN (SELECT id FROM payrolls WHERE employee_id=?)");
              PreparedStatement p3 = conn.prepareStatement("DELETE FROM payrolls WHERE employee_id=?");
              PreparedStatement p4 = conn.prepareStatement("DELETE FROM employees WHERE id=?")) {
 
             p0.setInt(1, id); p0.executeUpdate();
+            p0s.setInt(1, id); p0s.executeUpdate();
             p1.setInt(1, id); p1.executeUpdate();
             p2.setInt(1, id); p2.executeUpdate();
             p3.setInt(1, id); p3.executeUpdate();
             p4.setInt(1, id); p4.executeUpdate();
         }
+        directory.onDeleted(id);
+        results.onEmployeeDeleted(id);
+        paidSnapshots.evictEmployee(id);
     }
 
+    @Override
     public void ensureWorkRecord(int empId, int year, int month) throws Exception {
         try (Connection conn = DB.getConnection();
              PreparedStatement check = conn.prepareStatement(
@@ -284,11 +460,13 @@ public class EmployeeRepository implements PayrollRepository {
                         ins.setInt(4, 0); 
                         ins.executeUpdate();
                     }
+                    results.onEmployeeMonthChanged(empId, year, month);
                 }
             }
         }
     }
 
+    @Override
     public void updateParttimeDays(int empId, int year, int month, int days) throws Exception {
         try (Connection conn = DB.getConnection();
              PreparedStatement upd = conn.prepareStatement(
@@ -299,13 +477,466 @@ public class EmployeeRepository implements PayrollRepository {
             upd.setInt(4, month);
             upd.executeUpdate();
         }
+        results.onEmployeeMonthChanged(empId, year, month);
     }
 
+    /**
+     * [UPDATED] Hapus entri + kurangi overtime_monthly_summary dalam satu transaksi.
+     */
+    @Override
     public void deleteOvertimeEntry(int overtimeId) throws Exception {
+        try (Connection conn = DB.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                OvertimeEntry entry = null;
+                try (PreparedStatement sel = conn.prepareStatement(
+                        "SELECT employee_id, ot_date, start_time, end_time FROM overtime_entries WHERE id = ? FOR UPDATE")) {
+                    sel.setInt(1, overtimeId);
+                    try (ResultSet rs = sel.executeQuery()) {
+                        if (rs.next()) {
+                            entry = new OvertimeEntry(overtimeId, rs.getInt("employee_id"), rs.getDate("ot_date"),
+                                    rs.getTime("start_time"), rs.getTime("end_time"), false);
+                        }
+                    }
+                }
+                if (entry != null) {
+                    try (PreparedStatement ps = conn.prepareStatement("DELETE FROM overtime_entries WHERE id = ?")) {
+                        ps.setInt(1, overtimeId);
+                        ps.executeUpdate();
+                    }
+                    applySummaryDelta(conn, entry, -1);
+                }
+                conn.commit();
+                if (entry != null) onOvertimeChanged(entry);
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void onOvertimeChanged(OvertimeEntry entry) {
+        if (entry.date == null) return;
+        java.time.LocalDate d = entry.date.toLocalDate();
+        results.onEmployeeMonthChanged(entry.employeeId, d.getYear(), d.getMonthValue());
+    }
+
+    /**
+     * Tambah (sign=1) / kurangi (sign=-1) menit satu entri ke baris ringkasan bulannya.
+     * Dipanggil di dalam transaksi yang sama dengan insert/delete entri; baris dikunci FOR UPDATE.
+     */
+    private static void applySummaryDelta(Connection conn, OvertimeEntry entry, int sign) throws SQLException {
+        if (entry.date == null) return;
+        java.time.LocalDate d = entry.date.toLocalDate();
+        int delta = sign * OvertimeSummary.countedMinutes(entry);
+
+        // Pastikan baris ada (INSERT IGNORE aman jika dua transaksi membuat baris yang sama)
+        try (PreparedStatement ins = conn.prepareStatement("""
+                INSERT IGNORE INTO overtime_monthly_summary
+                  (employee_id, year, month, weekday_minutes, weekend_minutes, day_minutes, version)
+                VALUES (?, ?, ?, 0, 0, ?, 0)""")) {
+            ins.setInt(1, entry.employeeId);
+            ins.setInt(2, d.getYear());
+            ins.setInt(3, d.getMonthValue());
+            ins.setBytes(4, OvertimeSummary.encodeDays(new int[PayrollInput.MAX_DAYS]));
+            ins.executeUpdate();
+        }
+
+        int[] days;
+        try (PreparedStatement sel = conn.prepareStatement(
+                "SELECT day_minutes FROM overtime_monthly_summary WHERE employee_id=? AND year=? AND month=? FOR UPDATE")) {
+            sel.setInt(1, entry.employeeId);
+            sel.setInt(2, d.getYear());
+            sel.setInt(3, d.getMonthValue());
+            try (ResultSet rs = sel.executeQuery()) {
+                days = OvertimeSummary.decodeDays(rs.next() ? rs.getBytes(1) : null);
+            }
+        }
+        days[entry.dayOfMonth - 1] = Math.max(days[entry.dayOfMonth - 1] + delta, 0);
+
+        String column = entry.weekend ? "weekend_minutes" : "weekday_minutes";
+        try (PreparedStatement upd = conn.prepareStatement(
+                "UPDATE overtime_monthly_summary SET " + column + " = GREATEST(" + column + " + ?, 0), "
+                + "day_minutes = ?, version = version + 1 WHERE employee_id=? AND year=? AND month=?")) {
+            upd.setInt(1, delta);
+            upd.setBytes(2, OvertimeSummary.encodeDays(days));
+            upd.setInt(3, entry.employeeId);
+            upd.setInt(4, d.getYear());
+            upd.setInt(5, d.getMonthValue());
+            upd.executeUpdate();
+        }
+    }
+
+    /**
+     * Bangun ulang seluruh overtime_monthly_summary dari overtime_entries.
+     * Dipakai migrasi skema (backfill) dan generator data yang insert entri lembur secara batch.
+     */
+    static void rebuildOvertimeSummary(Connection conn) throws SQLException {
+        String agg = """
+            SELECT employee_id, YEAR(ot_date) AS y, MONTH(ot_date) AS m, DAYOFMONTH(ot_date) AS d,
+                   SUM(GREATEST(FLOOR((TIME_TO_SEC(end_time) - TIME_TO_SEC(start_time)) / 60), 0)) AS minutes
+            FROM overtime_entries
+            GROUP BY employee_id, YEAR(ot_date), MONTH(ot_date), DAYOFMONTH(ot_date)
+            ORDER BY employee_id, y, m
+        """;
+        String ins = """
+            INSERT INTO overtime_monthly_summary
+              (employee_id, year, month, weekday_minutes, weekend_minutes, day_minutes, version)
+            VALUES (?, ?, ?, ?, ?, ?, 1)""";
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement st = conn.createStatement();
+             PreparedStatement ps = conn.prepareStatement(ins)) {
+            st.executeUpdate("DELETE FROM overtime_monthly_summary");
+            try (ResultSet rs = st.executeQuery(agg)) {
+                int curEmp = -1, curY = 0, curM = 0, weekday = 0, weekend = 0, pending = 0;
+                int[] days = null;
+                int mask = 0;
+                while (true) {
+                    boolean more = rs.next();
+                    boolean newKey = !more || days == null || rs.getInt("employee_id") != curEmp
+                            || rs.getInt("y") != curY || rs.getInt("m") != curM;
+                    if (newKey && days != null) {
+                        ps.setInt(1, curEmp); ps.setInt(2, curY); ps.setInt(3, curM);
+                        ps.setInt(4, weekday); ps.setInt(5, weekend);
+                        ps.setBytes(6, OvertimeSummary.encodeDays(days));
+                        ps.addBatch();
+                        if (++pending % 1000 == 0) ps.executeBatch();
+                    }
+                    if (!more) break;
+                    if (newKey) {
+                        curEmp = rs.getInt("employee_id"); curY = rs.getInt("y"); curM = rs.getInt("m");
+                        days = new int[PayrollInput.MAX_DAYS];
+                        weekday = 0; weekend = 0;
+                        mask = PayrollInput.weekendMask(curY, curM);
+                    }
+                    int d = rs.getInt("d"), minutes = rs.getInt("minutes");
+                    days[d - 1] = minutes;
+                    if (((mask >>> (d - 1)) & 1) != 0) weekend += minutes; else weekday += minutes;
+                }
+            }
+            ps.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    @Override
+    public YearMonth findLatestDataMonth() {
+        // MAX(ot_date) dijawab langsung dari index ot_date (tanpa YEAR()/MONTH() per baris).
+        // Bulan terakhir = yang paling baru di antara lembur dan work_records (tahun+bulan dibandingkan bersama).
+        String sql = """
+            SELECT (SELECT MAX(ot_date) FROM overtime_entries) AS last_ot,
+                   (SELECT MAX(year * 100 + month) FROM work_records) AS last_wr
+            """;
         try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement("DELETE FROM overtime_entries WHERE id = ?")) {
-            ps.setInt(1, overtimeId);
-            ps.executeUpdate();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+                int latest = 0;
+                Date lastOt = rs.getDate("last_ot");
+                if (lastOt != null) {
+                    java.time.LocalDate d = lastOt.toLocalDate();
+                    latest = d.getYear() * 100 + d.getMonthValue();
+                }
+                latest = Math.max(latest, rs.getInt("last_wr"));
+                if (latest > 0) return YearMonth.of(latest / 100, latest % 100);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    // --- LOGIN ---
+
+    @Override
+    public String authenticate(String username, String password) throws Exception {
+        try (Connection conn = DB.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT username FROM users WHERE username=? AND password=?")) {
+            ps.setString(1, username);
+            ps.setString(2, password);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString("username") : null;
+            }
+        }
+    }
+
+    // --- PAYROLL (sebelumnya SQL langsung di PayrollService) ---
+
+    @Override
+    public Map<Integer, PayrollRecord> findPayrollsForMonth(int year, int month) throws Exception {
+        return findPayrollsForEmployees(year, month, null);
+    }
+
+    // [BARU] employeeIds null = semua karyawan; selain itu hanya karyawan di halaman tsb
+    @Override
+    public Map<Integer, PayrollRecord> findPayrollsForEmployees(int year, int month, Collection<Integer> employeeIds) throws Exception {
+        Map<Integer, PayrollRecord> map = new HashMap<>();
+        String sql = "SELECT id, employee_id, status, snapshot_type, snapshot_golongan, base_salary, overtime_pay, total_salary FROM payrolls WHERE year=? AND month=?";
+        try (Connection conn = DB.getConnection()) {
+            for (List<Integer> chunk : idChunks(employeeIds)) {
+                try (PreparedStatement ps = conn.prepareStatement(sql + inClause("employee_id", chunk))) {
+                    ps.setInt(1, year); ps.setInt(2, month);
+                    setIds(ps, 3, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            int id = rs.getInt("employee_id");
+                            Integer sg = rs.getInt("snapshot_golongan");
+                            if (rs.wasNull()) sg = null;
+                            
+                            map.put(id, new PayrollRecord(
+                                rs.getLong("id"),
+                                id,
+                                rs.getString("status"),
+                                rs.getString("snapshot_type"),
+                                sg,
+                                rs.getDouble("base_salary"),
+                                rs.getDouble("overtime_pay"),
+                                rs.getDouble("total_salary")
+                            ));
+                        }
+                    }
+                }
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public String findPayrollStatus(int empId, int year, int month) {
+        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement("SELECT status FROM payrolls WHERE employee_id=? AND year=? AND month=?")) {
+            ps.setInt(1, empId); ps.setInt(2, year); ps.setInt(3, month);
+            try (ResultSet rs = ps.executeQuery()) { if (rs.next()) return rs.getString(1); }
+        } catch (Exception e) { e.printStackTrace(); }
+        return "PENDING";
+    }
+
+    @Override
+    public void savePendingPayrolls(int year, int month, List<PayrollService.PayrollRow> rows) throws Exception {
+        if (rows.isEmpty()) return;
+        try (Connection conn = DB.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                savePendingRows(conn, rows, year, month);
+                conn.commit();
+            } catch (Exception e) { conn.rollback(); throw e; }
+        }
+    }
+
+    // Upsert baris PENDING (JDBC batch). Baris yang sudah PAID tidak disentuh (snapshot tetap beku).
+    private void savePendingRows(Connection conn, List<PayrollService.PayrollRow> rows, int year, int month) throws SQLException {
+        String upsertSql = """
+            INSERT INTO payrolls(employee_id, year, month, base_salary, overtime_pay, total_salary, status)
+            VALUES (?, ?, ?, ?, ?, ?, 'PENDING')
+            ON DUPLICATE KEY UPDATE
+              base_salary = IF(status = 'PAID', base_salary, VALUES(base_salary)),
+              overtime_pay = IF(status = 'PAID', overtime_pay, VALUES(overtime_pay)),
+              total_salary = IF(status = 'PAID', total_salary, VALUES(total_salary)),
+              created_at = IF(status = 'PAID', created_at, CURRENT_TIMESTAMP),
+              status = IF(status = 'PAID', status, 'PENDING')
+        """;
+        try (PreparedStatement ps = conn.prepareStatement(upsertSql)) {
+            for (PayrollService.PayrollRow r : rows) {
+                ps.setInt(1, r.id); ps.setInt(2, year); ps.setInt(3, month);
+                ps.setDouble(4, r.base); ps.setDouble(5, r.overtime); ps.setDouble(6, r.total);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // Baris payroll yang sudah dikunci (FOR UPDATE) untuk dibayar
+    private static class LockedPayroll {
+        final long id;
+        final int employeeId;
+        final double total;
+        LockedPayroll(long id, int employeeId, double total) {
+            this.id = id; this.employeeId = employeeId; this.total = total;
+        }
+    }
+
+    private static final int LOCK_CHUNK_SIZE = 1000; // Batas jumlah placeholder per IN (...)
+
+    // Potongan id untuk IN (...); ids null = satu potongan null (tanpa filter id)
+    private static List<List<Integer>> idChunks(Collection<Integer> ids) {
+        if (ids == null) return Collections.singletonList(null);
+        List<Integer> all = new ArrayList<>(ids);
+        List<List<Integer>> out = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += LOCK_CHUNK_SIZE) {
+            out.add(all.subList(from, Math.min(from + LOCK_CHUNK_SIZE, all.size())));
+        }
+        return out;
+    }
+
+    private static String inClause(String column, List<Integer> chunk) {
+        if (chunk == null) return "";
+        return " AND " + column + " IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+    }
+
+    private static void setIds(PreparedStatement ps, int firstIndex, List<Integer> chunk) throws SQLException {
+        if (chunk == null) return;
+        for (int i = 0; i < chunk.size(); i++) ps.setInt(firstIndex + i, chunk.get(i));
+    }
+
+    /**
+     * Semua langkah dalam SATU transaksi: upsert PENDING (batch) -> kunci baris sekaligus (set-based)
+     * -> UPDATE status + snapshot (batch) -> INSERT payment_logs (batch).
+     */
+    @Override
+    public int markPaid(int year, int month, List<PayrollService.PayrollRow> pendingRows, List<Employee> payees,
+                        String paidBy, String paymentMethod, String reference) throws Exception {
+        if (payees.isEmpty()) return 0;
+        Map<Integer, Employee> employeeById = new HashMap<>();
+        for (Employee e : payees) employeeById.put(e.getId(), e);
+        List<Integer> ids = new ArrayList<>(employeeById.keySet());
+
+        String updateSql = "UPDATE payrolls SET status='PAID', snapshot_type=?, snapshot_golongan=? WHERE id=?";
+        String logSql = "INSERT INTO payment_logs(payroll_id, paid_by, amount, payment_method, reference) VALUES (?, ?, ?, ?, ?)";
+
+        int count = 0;
+        try (Connection conn = DB.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // 1. Pastikan perhitungan PENDING sudah masuk DB
+                if (!pendingRows.isEmpty()) savePendingRows(conn, pendingRows, year, month);
+
+                // 2. Kunci semua baris target dengan query set-based
+                List<LockedPayroll> locked = lockUnpaidPayrolls(conn, ids, year, month);
+
+                // 3 & 4. Update status + log pembayaran (batch)
+                try (PreparedStatement up = conn.prepareStatement(updateSql);
+                     PreparedStatement ins = conn.prepareStatement(logSql)) {
+                    for (LockedPayroll p : locked) {
+                        Employee curEmp = employeeById.get(p.employeeId);
+
+                        // Update Status PAID + SIMPAN SNAPSHOT
+                        up.setString(1, curEmp.getEmploymentType());
+                        Integer curGol = curEmp.getGolongan();
+                        if (curGol == null) up.setNull(2, Types.INTEGER); else up.setInt(2, curGol);
+                        up.setLong(3, p.id);
+                        up.addBatch();
+
+                        // Insert Log
+                        ins.setLong(1, p.id); ins.setString(2, paidBy); ins.setDouble(3, p.total);
+                        ins.setString(4, paymentMethod); ins.setString(5, reference);
+                        ins.addBatch();
+
+                        count++;
+                    }
+                    if (count > 0) {
+                        up.executeBatch();
+                        ins.executeBatch();
+                    }
+                }
+                conn.commit();
+            } catch (Exception e) { conn.rollback(); throw e; }
+        }
+        if (count > 0) results.onMonthChanged(year, month);
+        return count;
+    }
+
+    // SELECT ... WHERE employee_id IN (...) FOR UPDATE, per chunk agar jumlah placeholder terbatas
+    private List<LockedPayroll> lockUnpaidPayrolls(Connection conn, List<Integer> empIds, int year, int month) throws SQLException {
+        List<LockedPayroll> out = new ArrayList<>();
+        for (int from = 0; from < empIds.size(); from += LOCK_CHUNK_SIZE) {
+            List<Integer> chunk = empIds.subList(from, Math.min(from + LOCK_CHUNK_SIZE, empIds.size()));
+            String sql = "SELECT id, employee_id, total_salary, status FROM payrolls WHERE year=? AND month=? AND employee_id IN ("
+                    + String.join(",", Collections.nCopies(chunk.size(), "?")) + ") ORDER BY id FOR UPDATE";
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, year); ps.setInt(2, month);
+                for (int i = 0; i < chunk.size(); i++) ps.setInt(3 + i, chunk.get(i));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if ("PAID".equalsIgnoreCase(rs.getString("status"))) continue;
+                        out.add(new LockedPayroll(rs.getLong("id"), rs.getInt("employee_id"), rs.getDouble("total_salary")));
+                    }
+                }
+            }
         }
+        return out;
+    }
+
+    /**
+     * Satu query (JOIN) untuk seluruh data status laporan pada (year, month).
+     * @return Map employee_id -> ReportEntry untuk semua karyawan.
+     */
+    @Override
+    public Map<Integer, PayrollService.ReportEntry> getReportEntries(int year, int month) {
+        Map<Integer, PayrollService.ReportEntry> map = new HashMap<>();
+        String sql = """
+            SELECT e.id, e.is_active, p.status, pl.paid_by, pl.paid_at
+            FROM employees e
+            LEFT JOIN payrolls p ON p.employee_id = e.id AND p.year = ? AND p.month = ?
+            LEFT JOIN payment_logs pl ON pl.payroll_id = p.id AND p.status = 'PAID'
+        """;
+        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, year); ps.setInt(2, month);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt("id");
+                    if (map.containsKey(id)) continue; // Ambil log pertama saja (sama seperti findPaymentLog)
+
+                    String status = rs.getString("status");
+                    if (status == null || status.isEmpty()) status = "PENDING";
+
+                    String paidBy = "-";
+                    String paidAt = "-";
+                    if ("PAID".equalsIgnoreCase(status)) {
+                        String by = rs.getString("paid_by");
+                        if (by != null) {
+                            paidBy = by;
+                            paidAt = PayrollService.formatPaidAt(rs.getTimestamp("paid_at"));
+                        }
+                    }
+                    map.put(id, new PayrollService.ReportEntry(id, status, rs.getBoolean("is_active"), paidBy, paidAt));
+                }
+            }
+        } catch (Exception e) { e.printStackTrace(); }
+        return map;
+    }
+
+    @Override
+    public PayrollService.PaymentLogInfo findPaymentLog(int empId, int year, int month) {
+        String sql = """
+            SELECT pl.paid_by, pl.paid_at FROM payrolls p
+            JOIN payment_logs pl ON p.id = pl.payroll_id
+            WHERE p.employee_id=? AND p.year=? AND p.month=? AND p.status='PAID'
+        """;
+        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, empId); ps.setInt(2, year); ps.setInt(3, month);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new PayrollService.PaymentLogInfo(rs.getString("paid_by"), PayrollService.formatPaidAt(rs.getTimestamp("paid_at")));
+                }
+            }
+        } catch (Exception e) { e.printStackTrace(); }
+        return null;
+    }
+
+    @Override
+    public double getTotalPaidForMonth(int year, int month) {
+        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(SUM(total_salary),0) FROM payrolls WHERE year=? AND month=? AND status='PAID'")) {
+            ps.setInt(1, year); ps.setInt(2, month);
+            try (ResultSet rs = ps.executeQuery()) { if (rs.next()) return rs.getDouble(1); }
+        } catch (Exception e) { e.printStackTrace(); }
+        return 0;
+    }
+
+    /**
+     * Isi dua parameter berurutan dengan rentang bulan half-open: [tgl 1, tgl 1 bulan berikutnya).
+     * Pengganti YEAR(col)=? AND MONTH(col)=? yang tidak bisa memakai index.
+     */
+    static void setMonthRange(PreparedStatement ps, int firstIndex, int year, int month) throws SQLException {
+        YearMonth ym = YearMonth.of(year, month);
+        ps.setDate(firstIndex, Date.valueOf(ym.atDay(1)));
+        ps.setDate(firstIndex + 1, Date.valueOf(ym.plusMonths(1).atDay(1)));
     }
 }
\ No newline at end of file
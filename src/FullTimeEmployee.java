@@ -1,14 +1,3 @@
-import java.sql.Connection;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Time;
-import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.HashMap;
-import java.util.Map;
-
 public class FullTimeEmployee extends Employee {
     private double baseSalary;
 
@@ -22,7 +11,7 @@ public class FullTimeEmployee extends Employee {
     /**
      * Helper: Hitung upah lembur per jam (1/173 x Gaji Pokok).
      */
-    private double getHourlyRate() {
+    private static double hourlyRateOf(double baseSalary) {
         if (baseSalary <= 0) return 0;
         return baseSalary / 173.0;
     }
@@ -30,10 +19,9 @@ public class FullTimeEmployee extends Employee {
     /**
      * Helper: Logika tarif lembur berjenjang (Hari Kerja vs Hari Libur).
      */
-    private double calculateOvertimePay(double hours, boolean isHoliday) {
+    private static double calculateOvertimePay(double hours, boolean isHoliday, double hourlyRate) {
         if (hours <= 0) return 0;
         
-        double hourlyRate = getHourlyRate();
         double pay = 0.0;
         
         if (!isHoliday) {
@@ -59,52 +47,28 @@ public class FullTimeEmployee extends Employee {
         return pay;
     }
 
+    /**
+     * [UPDATED] Gaji pokok (dari input) + lembur berjenjang per tanggal. Tanpa I/O dan tanpa alokasi.
+     */
     @Override
-    public double calculatePay(int year, int month, Connection conn) throws Exception {
-        // Query hanya mengambil data lembur
-        String sql = "SELECT ot_date, start_time, end_time FROM overtime_entries WHERE employee_id=? AND YEAR(ot_date)=? AND MONTH(ot_date)=?";
-        
-        Map<LocalDate, Double> totalHoursPerDay = new HashMap<>(); 
-        Map<LocalDate, Boolean> holidayStatus = new HashMap<>();
+    public double calculatePay(PayrollInput input) {
+        return input.baseSalary + calculateOvertimePay(input.overtimeMinutesPerDay(), input.weekendMask, input.baseSalary);
+    }
 
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, id);
-            ps.setInt(2, year);
-            ps.setInt(3, month);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Date d = rs.getDate("ot_date");
-                    Time s = rs.getTime("start_time");
-                    Time e = rs.getTime("end_time");
-                    
-                    if (d == null || s == null || e == null) continue;
-                    LocalDate date = d.toLocalDate();
-                    LocalTime start = s.toLocalTime();
-                    LocalTime end = e.toLocalTime();
-                    
-                    long minutes = Duration.between(start, end).toMinutes();
-                    if (minutes <= 0) continue;
-                    double hours = minutes / 60.0;
-                    
-                    totalHoursPerDay.merge(date, hours, Double::sum); 
-                    
-                    boolean isWeekend = date.getDayOfWeek() == java.time.DayOfWeek.SATURDAY || date.getDayOfWeek() == java.time.DayOfWeek.SUNDAY;
-                    holidayStatus.put(date, isWeekend); 
-                }
-            }
-        }
-        
+    /**
+     * Total upah lembur satu bulan.
+     * @param minutesPerDay Menit lembur per tanggal (index 0 = tanggal 1).
+     * @param weekendMask   Bit ke-(tanggal-1) bernilai 1 jika tanggal tsb Sabtu/Minggu.
+     */
+    static double calculateOvertimePay(int[] minutesPerDay, int weekendMask, double baseSalary) {
+        double hourlyRate = hourlyRateOf(baseSalary);
         double overtimePay = 0.0;
-        
-        for (Map.Entry<LocalDate, Double> entry : totalHoursPerDay.entrySet()) {
-            LocalDate date = entry.getKey();
-            double hours = entry.getValue();
-            boolean isHoliday = holidayStatus.getOrDefault(date, false);
-            
-            overtimePay += calculateOvertimePay(hours, isHoliday); 
+        for (int d = 0; d < minutesPerDay.length; d++) {
+            int minutes = minutesPerDay[d];
+            if (minutes <= 0) continue;
+            overtimePay += calculateOvertimePay(minutes / 60.0, ((weekendMask >>> d) & 1) != 0, hourlyRate);
         }
-        
-        return baseSalary + overtimePay;
+        return overtimePay;
     }
 
     @Override
@@ -0,0 +1,98 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * ImageAssets - Cache gambar background (assets/img) untuk semua panel.
+ * - Setiap file PNG di-decode sekali saja, walaupun panel dibuat ulang setiap navigasi.
+ * - Versi yang sudah diskalakan ke ukuran komponen disimpan per (file, lebar, tinggi),
+ *   sehingga repaint (scroll tabel, hover, dsb.) hanya menyalin gambar tanpa rescale.
+ * - Hasil skala dibuat sebagai compatible image layar (bisa diakselerasi Java2D).
+ * - Jumlah versi terskala dibatasi (LRU, -Dpayroll.ui.imageCacheSize=16) agar resize window tidak memenuhi memori.
+ * - Dipanggil dari EDT (paintComponent).
+ */
+public final class ImageAssets {
+
+    private static final int SCALED_CACHE_SIZE = Integer.getInteger("payroll.ui.imageCacheSize", 16);
+
+    // File -> gambar asli (null = file tidak ada / gagal dibaca, tidak dicoba ulang)
+    private static final Map<String, BufferedImage> ORIGINALS = new HashMap<>();
+
+    // "file@WxH" -> gambar terskala, urutan akses (LRU)
+    private static final Map<String, BufferedImage> SCALED = new LinkedHashMap<>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+            return size() > SCALED_CACHE_SIZE;
+        }
+    };
+
+    private ImageAssets() { }
+
+    /**
+     * Gambar asli (sekali decode).
+     * @return null jika file tidak ada.
+     */
+    public static BufferedImage get(String path) {
+        if (ORIGINALS.containsKey(path)) return ORIGINALS.get(path);
+        BufferedImage img = null;
+        try {
+            File f = new File(path);
+            if (f.isFile()) img = ImageIO.read(f);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        ORIGINALS.put(path, img);
+        return img;
+    }
+
+    /**
+     * Gambar yang sudah diskalakan ke width x height (dibuat sekali per ukuran).
+     * @return null jika file tidak ada atau ukuran kosong.
+     */
+    public static BufferedImage scaled(String path, int width, int height) {
+        if (width <= 0 || height <= 0) return null;
+        BufferedImage src = get(path);
+        if (src == null) return null;
+        if (src.getWidth() == width && src.getHeight() == height) return src;
+
+        String key = path + "@" + width + "x" + height;
+        BufferedImage img = SCALED.get(key);
+        if (img == null) {
+            img = scale(src, width, height);
+            SCALED.put(key, img);
+        }
+        return img;
+    }
+
+    // --- Internal ---
+
+    private static BufferedImage scale(BufferedImage src, int width, int height) {
+        BufferedImage out;
+        if (GraphicsEnvironment.isHeadless()) {
+            int type = src.getTransparency() == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            out = new BufferedImage(width, height, type);
+        } else {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            out = gc.createCompatibleImage(width, height, src.getTransparency());
+        }
+        Graphics2D g = out.createGraphics();
+        try {
+            // Skala hanya sekali per ukuran, jadi kualitas bilinear tidak membebani repaint
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+}
@@ -0,0 +1,560 @@
+import java.sql.Date;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InMemoryPayrollRepository - Implementasi PayrollRepository tanpa database (untuk benchmark, test, demo).
+ * - Semantik mengikuti skema MySQL: UNIQUE (employee_id, year, month) pada work_records & payrolls,
+ *   baris PAID tidak berubah saat upsert, urutan findAll = aktif dulu lalu nama.
+ * - Semua method synchronized (satu lock), cukup untuk UI maupun benchmark.
+ * - Data hilang saat aplikasi ditutup.
+ */
+public class InMemoryPayrollRepository implements PayrollRepository {
+
+    public static final String PARTTIME_DAILY_RATE = AppSettings.PARTTIME_DAILY_RATE;
+    private static final double DEFAULT_PARTTIME_DAILY_RATE = 100_000.0;
+
+    // --- Baris tabel (mutable, hanya diakses di dalam lock) ---
+
+    private static class EmployeeRow {
+        final int id;
+        String name;
+        String type;
+        Integer golongan;
+        boolean active;
+
+        EmployeeRow(int id, String name, String type, Integer golongan, boolean active) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.golongan = golongan;
+            this.active = active;
+        }
+    }
+
+    private static class PayrollRowData {
+        final long id;
+        final int employeeId;
+        double base, overtime, total;
+        String status;
+        String snapType;
+        Integer snapGol;
+
+        PayrollRowData(long id, int employeeId) {
+            this.id = id;
+            this.employeeId = employeeId;
+        }
+
+        boolean isPaid() {
+            return "PAID".equalsIgnoreCase(status);
+        }
+
+        PayrollRecord toRecord() {
+            return new PayrollRecord(id, employeeId, status, snapType, snapGol, base, overtime, total);
+        }
+    }
+
+    private static class SummaryRow {
+        int weekdayMinutes;
+        int weekendMinutes;
+        final int[] dayMinutes = new int[PayrollInput.MAX_DAYS];
+        long version;
+    }
+
+    private static class PaymentLog {
+        final String paidBy;
+        final double amount;
+        final String paymentMethod;
+        final String reference;
+        final LocalDateTime paidAt;
+
+        PaymentLog(String paidBy, double amount, String paymentMethod, String reference, LocalDateTime paidAt) {
+            this.paidBy = paidBy;
+            this.amount = amount;
+            this.paymentMethod = paymentMethod;
+            this.reference = reference;
+            this.paidAt = paidAt;
+        }
+    }
+
+    private static final Comparator<EmployeeRow> FIND_ALL_ORDER = Comparator
+            .comparing((EmployeeRow e) -> !e.active)
+            .thenComparing(e -> e.name, String.CASE_INSENSITIVE_ORDER);
+
+    private final Map<Integer, EmployeeRow> employees = new HashMap<>();
+    private final Map<Integer, Double> salaryScale = new HashMap<>();
+    private final Map<String, String> users = new HashMap<>();
+    private final Map<String, String> settings = new HashMap<>();
+
+    // Index per periode (year * 100 + month) -> employee_id -> data
+    private final Map<Integer, Map<Integer, Integer>> workRecords = new HashMap<>();
+    private final Map<Integer, Map<Integer, List<OvertimeEntry>>> overtimeByPeriod = new HashMap<>();
+    private final Map<Integer, Map<Integer, PayrollRowData>> payrolls = new HashMap<>();
+    // overtime_monthly_summary: dipelihara oleh insert/delete entri lembur
+    private final Map<Integer, Map<Integer, SummaryRow>> overtimeSummary = new HashMap<>();
+
+    private final Map<Integer, OvertimeEntry> overtimeById = new HashMap<>();
+    private final Map<Long, PaymentLog> paymentLogs = new HashMap<>(); // payroll_id -> log pertama
+
+    // Cache hasil calculateAll khusus repository ini (tidak berbagi dengan MySQL)
+    private final PayrollResultCache results = new PayrollResultCache();
+    private final PaidSnapshotStore paidSnapshots = new PaidSnapshotStore(null);
+
+    private int nextOvertimeId = 1;
+    private long nextPayrollId = 1;
+
+    /**
+     * Repository kosong + data awal minimal: user admin/admin, skala gaji golongan 1-4, tarif Part-Time.
+     */
+    public static InMemoryPayrollRepository withDefaults() {
+        InMemoryPayrollRepository repo = new InMemoryPayrollRepository();
+        repo.addUser("admin", "admin");
+        repo.putSalaryScale(1, 3_500_000);
+        repo.putSalaryScale(2, 4_750_000);
+        repo.putSalaryScale(3, 6_000_000);
+        repo.putSalaryScale(4, 8_500_000);
+        repo.putSetting(PARTTIME_DAILY_RATE, String.valueOf(DEFAULT_PARTTIME_DAILY_RATE));
+        return repo;
+    }
+
+    // --- Seeding (bukan bagian dari PayrollRepository) ---
+
+    public synchronized void addUser(String username, String password) {
+        users.put(username, password);
+    }
+
+    public synchronized void putSalaryScale(int golongan, double baseSalary) {
+        salaryScale.put(golongan, baseSalary);
+        results.invalidateAll();
+    }
+
+    public synchronized void putSetting(String key, String value) {
+        settings.put(key, value);
+        results.invalidateAll();
+    }
+
+    // --- Karyawan ---
+
+    @Override
+    public synchronized List<Employee> findAll() {
+        List<EmployeeRow> rows = new ArrayList<>(employees.values());
+        rows.sort(FIND_ALL_ORDER);
+        return toEmployees(rows);
+    }
+
+    @Override
+    public synchronized Employee findById(int id) {
+        EmployeeRow row = employees.get(id);
+        return row == null ? null : toEmployee(row);
+    }
+
+    @Override
+    public synchronized List<Employee> findByName(String name) {
+        List<EmployeeRow> rows = new ArrayList<>();
+        if (name == null) return new ArrayList<>();
+        for (EmployeeRow e : employees.values()) {
+            if (e.name.equalsIgnoreCase(name.trim())) rows.add(e);
+        }
+        rows.sort(FIND_ALL_ORDER);
+        return toEmployees(rows);
+    }
+
+    // Filter + urutan + cursor yang sama seperti SQL di EmployeeRepository
+    @Override
+    public synchronized List<Employee> findEmployeesPage(EmployeeQuery query, EmployeeQuery.Cursor after, int limit) {
+        Map<Integer, PayrollRowData> paid = query.hasUnpaidPeriod()
+                ? payrolls.getOrDefault(period(query.unpaidYear, query.unpaidMonth), Map.of())
+                : Map.of();
+        List<Employee> matched = new ArrayList<>();
+        for (EmployeeRow row : employees.values()) {
+            Employee e = toEmployee(row);
+            if (!query.matches(e) || !query.isAfter(e, after)) continue;
+            PayrollRowData p = paid.get(row.id);
+            if (p != null && p.isPaid()) continue;
+            matched.add(e);
+        }
+        matched.sort(query.comparator());
+        return new ArrayList<>(matched.subList(0, Math.min(limit, matched.size())));
+    }
+
+    @Override
+    public synchronized int countInactive() {
+        int n = 0;
+        for (EmployeeRow e : employees.values()) if (!e.active) n++;
+        return n;
+    }
+
+    @Override
+    public synchronized double getPartTimeDailyRate() {
+        String v = settings.get(PARTTIME_DAILY_RATE);
+        if (v == null) return DEFAULT_PARTTIME_DAILY_RATE;
+        try {
+            return Double.parseDouble(v.trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_PARTTIME_DAILY_RATE;
+        }
+    }
+
+    @Override
+    public synchronized int countAll() {
+        return countActive(null);
+    }
+
+    @Override
+    public synchronized int countFullTime() {
+        return countActive("FULLTIME");
+    }
+
+    @Override
+    public synchronized int countPartTime() {
+        return countActive("PARTTIME");
+    }
+
+    @Override
+    public synchronized int getNextEmployeeId() {
+        int maxId = 0;
+        for (int id : employees.keySet()) maxId = Math.max(maxId, id);
+        return maxId + 1;
+    }
+
+    @Override
+    public synchronized int insertEmployee(int newId, String name, String type, Integer golongan) throws Exception {
+        if (employees.containsKey(newId)) {
+            throw new SQLIntegrityConstraintViolationException("Duplicate entry '" + newId + "' for key 'employees.PRIMARY'");
+        }
+        employees.put(newId, new EmployeeRow(newId, name, type, golongan, true));
+        results.onEmployeeChanged(newId);
+        return newId;
+    }
+
+    @Override
+    public synchronized void updateStatus(int id, boolean isActive) {
+        EmployeeRow row = employees.get(id);
+        if (row == null) throw new IllegalArgumentException("Karyawan tidak ditemukan.");
+        row.active = isActive;
+        results.onEmployeeChanged(id);
+    }
+
+    @Override
+    public synchronized void updateTypeAndGolongan(int id, String type, Integer golongan) {
+        EmployeeRow row = employees.get(id);
+        if (row == null) return; // Sama seperti UPDATE tanpa baris yang cocok
+        row.type = type;
+        row.golongan = golongan;
+        results.onEmployeeChanged(id);
+    }
+
+    @Override
+    public synchronized boolean hasFinancialHistory(int id) {
+        for (Map<Integer, PayrollRowData> m : payrolls.values()) if (m.containsKey(id)) return true;
+        for (Map<Integer, Integer> m : workRecords.values()) if (m.containsKey(id)) return true;
+        for (OvertimeEntry e : overtimeById.values()) if (e.employeeId == id) return true;
+        return false;
+    }
+
+    @Override
+    public synchronized void deletePermanently(int id) {
+        overtimeById.values().removeIf(e -> e.employeeId == id);
+        for (Map<Integer, List<OvertimeEntry>> m : overtimeByPeriod.values()) m.remove(id);
+        for (Map<Integer, SummaryRow> m : overtimeSummary.values()) m.remove(id);
+        for (Map<Integer, Integer> m : workRecords.values()) m.remove(id);
+        for (Map<Integer, PayrollRowData> m : payrolls.values()) {
+            PayrollRowData p = m.remove(id);
+            if (p != null) paymentLogs.remove(p.id);
+        }
+        employees.remove(id);
+        results.onEmployeeDeleted(id);
+        paidSnapshots.evictEmployee(id);
+    }
+
+    @Override
+    public PayrollResultCache resultCache() {
+        return results;
+    }
+
+    @Override
+    public PaidSnapshotStore paidSnapshots() {
+        return paidSnapshots;
+    }
+
+    // --- Login ---
+
+    @Override
+    public synchronized String authenticate(String username, String password) {
+        String stored = users.get(username);
+        return (stored != null && stored.equals(password)) ? username : null;
+    }
+
+    // --- Dashboard ---
+
+    @Override
+    public synchronized DashboardStats getDashboardStats(int year, int month) {
+        return new DashboardStats(countActive(null), countActive("FULLTIME"), countActive("PARTTIME"),
+                countInactive(), getTotalPaidForMonth(year, month));
+    }
+
+    // --- Lembur & Hari Kerja ---
+
+    @Override
+    public synchronized List<OvertimeEntry> findOvertimeEntriesForMonth(int employeeId, int year, int month) {
+        List<OvertimeEntry> out = new ArrayList<>(
+                overtimeByPeriod.getOrDefault(period(year, month), Map.of()).getOrDefault(employeeId, List.of()));
+        out.sort(Comparator.comparing((OvertimeEntry e) -> e.date).thenComparing(e -> e.start));
+        return out;
+    }
+
+    @Override
+    public synchronized int insertOvertimeEntry(int employeeId, Date date, Time start, Time end) {
+        if (date == null) return -1;
+        int id = nextOvertimeId++;
+        OvertimeEntry entry = new OvertimeEntry(id, employeeId, date, start, end, false);
+        overtimeById.put(id, entry);
+        LocalDate d = date.toLocalDate();
+        overtimeByPeriod.computeIfAbsent(period(d.getYear(), d.getMonthValue()), k -> new HashMap<>())
+                .computeIfAbsent(employeeId, k -> new ArrayList<>())
+                .add(entry);
+        applySummaryDelta(entry, 1);
+        return id;
+    }
+
+    @Override
+    public synchronized void deleteOvertimeEntry(int overtimeId) {
+        OvertimeEntry entry = overtimeById.remove(overtimeId);
+        if (entry == null) return;
+        LocalDate d = entry.date.toLocalDate();
+        List<OvertimeEntry> list = overtimeByPeriod.getOrDefault(period(d.getYear(), d.getMonthValue()), Map.of())
+                .get(entry.employeeId);
+        if (list != null) list.remove(entry);
+        applySummaryDelta(entry, -1);
+    }
+
+    private void applySummaryDelta(OvertimeEntry entry, int sign) {
+        LocalDate d = entry.date.toLocalDate();
+        SummaryRow row = overtimeSummary.computeIfAbsent(period(d.getYear(), d.getMonthValue()), k -> new HashMap<>())
+                .computeIfAbsent(entry.employeeId, k -> new SummaryRow());
+        int delta = sign * OvertimeSummary.countedMinutes(entry);
+        if (entry.weekend) row.weekendMinutes = Math.max(row.weekendMinutes + delta, 0);
+        else row.weekdayMinutes = Math.max(row.weekdayMinutes + delta, 0);
+        row.dayMinutes[entry.dayOfMonth - 1] = Math.max(row.dayMinutes[entry.dayOfMonth - 1] + delta, 0);
+        row.version++;
+        results.onEmployeeMonthChanged(entry.employeeId, d.getYear(), d.getMonthValue());
+    }
+
+    @Override
+    public synchronized void ensureWorkRecord(int empId, int year, int month) {
+        if (workRecords.computeIfAbsent(period(year, month), k -> new HashMap<>()).putIfAbsent(empId, 0) == null) {
+            results.onEmployeeMonthChanged(empId, year, month);
+        }
+    }
+
+    @Override
+    public synchronized void updateParttimeDays(int empId, int year, int month, int days) {
+        Map<Integer, Integer> m = workRecords.get(period(year, month));
+        if (m != null && m.containsKey(empId)) m.put(empId, days); // UPDATE: hanya jika record sudah ada
+        results.onEmployeeMonthChanged(empId, year, month);
+    }
+
+    @Override
+    public synchronized YearMonth findLatestDataMonth() {
+        int latest = 0;
+        for (Map.Entry<Integer, Map<Integer, List<OvertimeEntry>>> e : overtimeByPeriod.entrySet()) {
+            for (List<OvertimeEntry> list : e.getValue().values()) {
+                if (!list.isEmpty()) { latest = Math.max(latest, e.getKey()); break; }
+            }
+        }
+        for (Map.Entry<Integer, Map<Integer, Integer>> e : workRecords.entrySet()) {
+            if (!e.getValue().isEmpty()) latest = Math.max(latest, e.getKey());
+        }
+        return latest > 0 ? YearMonth.of(latest / 100, latest % 100) : null;
+    }
+
+    // --- Bulk ---
+
+    @Override
+    public synchronized Map<Integer, int[]> findOvertimeMinutesForMonth(int year, int month) {
+        Map<Integer, int[]> out = new HashMap<>();
+        for (OvertimeSummary s : findOvertimeSummariesForMonth(year, month).values()) out.put(s.employeeId, s.dayMinutes);
+        return out;
+    }
+
+    @Override
+    public synchronized Map<Integer, OvertimeSummary> findOvertimeSummariesForMonth(int year, int month) {
+        Map<Integer, OvertimeSummary> out = new HashMap<>();
+        for (Map.Entry<Integer, SummaryRow> e : overtimeSummary.getOrDefault(period(year, month), Map.of()).entrySet()) {
+            SummaryRow row = e.getValue();
+            if (row.weekdayMinutes + row.weekendMinutes <= 0) continue;
+            out.put(e.getKey(), new OvertimeSummary(e.getKey(), year, month, row.weekdayMinutes, row.weekendMinutes,
+                    row.dayMinutes.clone(), row.version));
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized Map<Integer, Integer> findPartTimeDaysForMonth(int year, int month) {
+        return new HashMap<>(workRecords.getOrDefault(period(year, month), Map.of()));
+    }
+
+    @Override
+    public synchronized Map<Integer, int[]> findOvertimeMinutesForEmployees(int year, int month, Collection<Integer> employeeIds) {
+        return onlyIds(findOvertimeMinutesForMonth(year, month), employeeIds);
+    }
+
+    @Override
+    public synchronized Map<Integer, Integer> findPartTimeDaysForEmployees(int year, int month, Collection<Integer> employeeIds) {
+        return onlyIds(findPartTimeDaysForMonth(year, month), employeeIds);
+    }
+
+    // --- Payroll ---
+
+    @Override
+    public synchronized Map<Integer, PayrollRecord> findPayrollsForMonth(int year, int month) {
+        Map<Integer, PayrollRecord> out = new HashMap<>();
+        for (PayrollRowData p : payrolls.getOrDefault(period(year, month), Map.of()).values()) {
+            out.put(p.employeeId, p.toRecord());
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized Map<Integer, PayrollRecord> findPayrollsForEmployees(int year, int month, Collection<Integer> employeeIds) {
+        return onlyIds(findPayrollsForMonth(year, month), employeeIds);
+    }
+
+    @Override
+    public synchronized String findPayrollStatus(int empId, int year, int month) {
+        PayrollRowData p = payrolls.getOrDefault(period(year, month), Map.of()).get(empId);
+        return p != null ? p.status : "PENDING";
+    }
+
+    @Override
+    public synchronized void savePendingPayrolls(int year, int month, List<PayrollService.PayrollRow> rows) {
+        Map<Integer, PayrollRowData> m = payrolls.computeIfAbsent(period(year, month), k -> new HashMap<>());
+        for (PayrollService.PayrollRow r : rows) {
+            PayrollRowData p = m.get(r.id);
+            if (p == null) {
+                p = new PayrollRowData(nextPayrollId++, r.id);
+                m.put(r.id, p);
+            } else if (p.isPaid()) {
+                continue; // Snapshot PAID tetap beku
+            }
+            p.base = r.base;
+            p.overtime = r.overtime;
+            p.total = r.total;
+            p.status = "PENDING";
+        }
+    }
+
+    @Override
+    public synchronized int markPaid(int year, int month, List<PayrollService.PayrollRow> pendingRows, List<Employee> payees,
+                                     String paidBy, String paymentMethod, String reference) {
+        savePendingPayrolls(year, month, pendingRows);
+
+        Map<Integer, PayrollRowData> m = payrolls.getOrDefault(period(year, month), Map.of());
+        LocalDateTime now = LocalDateTime.now();
+        int count = 0;
+        for (Employee e : payees) {
+            PayrollRowData p = m.get(e.getId());
+            if (p == null || p.isPaid()) continue;
+
+            p.status = "PAID";
+            p.snapType = e.getEmploymentType();
+            p.snapGol = e.getGolongan();
+            paymentLogs.putIfAbsent(p.id, new PaymentLog(paidBy, p.total, paymentMethod, reference, now));
+            count++;
+        }
+        if (count > 0) results.onMonthChanged(year, month);
+        return count;
+    }
+
+    @Override
+    public synchronized Map<Integer, PayrollService.ReportEntry> getReportEntries(int year, int month) {
+        Map<Integer, PayrollService.ReportEntry> out = new HashMap<>();
+        Map<Integer, PayrollRowData> m = payrolls.getOrDefault(period(year, month), Map.of());
+        for (EmployeeRow e : employees.values()) {
+            PayrollRowData p = m.get(e.id);
+            String status = (p == null || p.status == null || p.status.isEmpty()) ? "PENDING" : p.status;
+
+            String paidBy = "-";
+            String paidAt = "-";
+            if ("PAID".equalsIgnoreCase(status)) {
+                PaymentLog log = paymentLogs.get(p.id);
+                if (log != null && log.paidBy != null) {
+                    paidBy = log.paidBy;
+                    paidAt = PayrollService.formatPaidAt(Timestamp.valueOf(log.paidAt));
+                }
+            }
+            out.put(e.id, new PayrollService.ReportEntry(e.id, status, e.active, paidBy, paidAt));
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized PayrollService.PaymentLogInfo findPaymentLog(int empId, int year, int month) {
+        PayrollRowData p = payrolls.getOrDefault(period(year, month), Map.of()).get(empId);
+        if (p == null || !p.isPaid()) return null;
+        PaymentLog log = paymentLogs.get(p.id);
+        if (log == null) return null;
+        return new PayrollService.PaymentLogInfo(log.paidBy, PayrollService.formatPaidAt(Timestamp.valueOf(log.paidAt)));
+    }
+
+    @Override
+    public synchronized double getTotalPaidForMonth(int year, int month) {
+        double total = 0;
+        for (PayrollRowData p : payrolls.getOrDefault(period(year, month), Map.of()).values()) {
+            if (p.isPaid()) total += p.total;
+        }
+        return total;
+    }
+
+    // --- Internal ---
+
+    private static <V> Map<Integer, V> onlyIds(Map<Integer, V> all, Collection<Integer> ids) {
+        if (ids == null) return all;
+        Map<Integer, V> out = new HashMap<>();
+        for (Integer id : ids) {
+            V v = all.get(id);
+            if (v != null) out.put(id, v);
+        }
+        return out;
+    }
+
+    private static int period(int year, int month) {
+        return year * 100 + month;
+    }
+
+    private int countActive(String type) {
+        int n = 0;
+        for (EmployeeRow e : employees.values()) {
+            if (e.active && (type == null || type.equalsIgnoreCase(e.type))) n++;
+        }
+        return n;
+    }
+
+    private Employee toEmployee(EmployeeRow row) {
+        Employee emp;
+        if ("PARTTIME".equalsIgnoreCase(row.type)) {
+            emp = new PartTimeEmployee(row.id, row.name, row.active);
+        } else {
+            double base = row.golongan == null ? 0.0 : salaryScale.getOrDefault(row.golongan, 0.0);
+            emp = new FullTimeEmployee(row.id, row.name, base, row.active);
+        }
+        emp.setGolongan(row.golongan);
+        return emp;
+    }
+
+    private List<Employee> toEmployees(List<EmployeeRow> rows) {
+        List<Employee> out = new ArrayList<>(rows.size());
+        for (EmployeeRow row : rows) out.add(toEmployee(row));
+        return out;
+    }
+}
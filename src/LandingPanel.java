@@ -3,6 +3,11 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 
@@ -10,6 +15,7 @@ import javax.swing.border.EmptyBorder;
  * LandingPanel - Dashboard Utama.
  * - Navigasi ke Panel lain.
  * - Statistik ringkas.
+ * - [UPDATED] Panel menu disimpan di ViewRegistry (dibuat sekali, dimuat ulang hanya jika datanya basi).
  */
 public class LandingPanel extends JPanel {
 
@@ -27,13 +33,25 @@ public class LandingPanel extends JPanel {
     private JLabel headerAdminLabel; 
 
     private JButton hamburgerMenu;
-    private String currentActiveNav = "";
+    private volatile String currentActiveNav = "";
     private String adminName = "Admin"; 
     private boolean sidebarVisible = false;
 
     // Interface vs Implementation
     private final PayrollRepository employeeRepo;
-    private final PayrollService payrollService;
+
+    // Auto-refresh statistik (background, bukan di EDT)
+    private static final long STATS_REFRESH_MS = 10_000L;
+    private static final long STATS_MAX_BACKOFF_MS = 60_000L;
+    private final ScheduledExecutorService statsScheduler;
+    private final AtomicBoolean statsInFlight = new AtomicBoolean(false);
+    private ScheduledFuture<?> nextStatsTick;
+    private long statsGeneration; // naik setiap siklus dijadwal ulang / dihentikan; tick lama tidak menjadwal lagi
+    private long statsDelayMs = STATS_REFRESH_MS;
+    private boolean statsActive; // false saat Home tersembunyi / setelah logout (guarded by this)
+
+    // Panel per menu, dipakai ulang antar navigasi
+    private final ViewRegistry views;
 
     // Stats Labels
     private JLabel totalEmployeesLabel;
@@ -44,8 +62,12 @@ public class LandingPanel extends JPanel {
 
     public LandingPanel() {
         // Init logic classes
-        this.employeeRepo = new EmployeeRepository();
-        this.payrollService = new PayrollService();
+        this.employeeRepo = Repositories.get();
+        this.statsScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dashboard-stats");
+            t.setDaemon(true);
+            return t;
+        });
 
         setLayout(new BorderLayout());
         setBackground(CONTENT_BG);
@@ -64,14 +86,18 @@ public class LandingPanel extends JPanel {
 
         add(mainContent, BorderLayout.CENTER);
 
+        views = new ViewRegistry(employeeRepo.resultCache()::dataVersion);
+        registerViews();
+
+        // showHome() -> navigateTo("Home") sekaligus memulai siklus auto-refresh (tiap 10 detik)
         showHome();
+    }
 
-        // Auto-refresh stats every 10s
-        Timer t = new Timer(10000, e -> {
-            if ("Home".equals(currentActiveNav)) refreshHomeStats();
-        });
-        t.setRepeats(true);
-        t.start();
+    // Panel baru tampil di frame: refresh langsung (tick awal saat konstruksi belum "showing")
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if ("Home".equals(currentActiveNav)) requestStatsRefresh();
     }
 
     public void setAdminName(String name) {
@@ -96,15 +122,7 @@ public class LandingPanel extends JPanel {
     }
 
     private JPanel createSidebar() {
-        JPanel side = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_sidebar.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-                else { g.setColor(SIDEBAR_BG); g.fillRect(0, 0, getWidth(), getHeight()); }
-            }
-        };
+        JPanel side = new BackgroundPanel(new BorderLayout(), "assets/img/bg_sidebar.png").withFallback(SIDEBAR_BG);
         side.setPreferredSize(new Dimension(SIDEBAR_WIDTH, 0));
         side.setBorder(new EmptyBorder(0,0,0,0));
 
@@ -259,21 +277,14 @@ public class LandingPanel extends JPanel {
         logoutBtn.setBorderPainted(false);
         logoutBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
         logoutBtn.setPreferredSize(new Dimension(100, 32));
-        logoutBtn.addActionListener(e -> Main.setPanel(new LoginPanel()));
+        logoutBtn.addActionListener(e -> logout());
 
         logout.add(logoutBtn);
         return logout;
     }
 
     private JPanel createHeader() {
-        JPanel header = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_header.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel header = new BackgroundPanel(new BorderLayout(), "assets/img/bg_header.png");
         header.setBackground(HEADER_BG);
         header.setBorder(BorderFactory.createCompoundBorder(
             BorderFactory.createMatteBorder(0,0,1,0, new Color(0xE0E0E0)),
@@ -322,48 +333,69 @@ public class LandingPanel extends JPanel {
 
         contentArea.removeAll();
 
-        JPanel panel;
-        switch (destination) {
-            case "Home": panel = createHomeView(); break;
-            case "Manajemen Karyawan": panel = new EmployeePanel(); break;
-            case "Input Lembur": panel = new OvertimePanel(); break;
-            case "Batch Payroll": 
-                PayrollPanel payrollPanel = new PayrollPanel();
-                payrollPanel.setCurrentAdminName(this.adminName);
-                panel = payrollPanel;
-                break;
-            case "Laporan": panel = new ReportPanel(); break;
-            default: panel = new JPanel(); break;
-        }
-
-        if (panel != null) {
-            panel.setBackground(CONTENT_BG);
-            if ("Home".equals(destination)) {
-                contentArea.add(panel, BorderLayout.CENTER);
-                refreshHomeStats();
-            } else {
-                JScrollPane sp = new JScrollPane(panel);
-                sp.setBorder(BorderFactory.createEmptyBorder());
-                sp.getVerticalScrollBar().setUnitIncrement(16);
-                sp.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-                sp.getViewport().setBackground(CONTENT_BG);
-                contentArea.add(sp, BorderLayout.CENTER);
-            }
+        // [UPDATED] Panel diambil dari ViewRegistry: tidak dibuat ulang, onDeactivate/onActivate dipanggil
+        JComponent view = views.activate(destination);
+        if (view == null) {
+            view = new JPanel();
+            view.setBackground(CONTENT_BG);
         }
+        contentArea.add(view, BorderLayout.CENTER);
         revalidate(); repaint();
     }
 
+    // [BARU] Daftar panel menu; masing-masing dibuat saat pertama kali dibuka
+    private void registerViews() {
+        views.register("Home", this::createHomeView);
+        views.register("Manajemen Karyawan", () -> scrollable(new EmployeePanel()));
+        views.register("Input Lembur", () -> scrollable(new OvertimePanel()));
+        views.register("Batch Payroll", () -> {
+            PayrollPanel payrollPanel = new PayrollPanel();
+            payrollPanel.setCurrentAdminName(this.adminName);
+            return scrollable(payrollPanel);
+        });
+        views.register("Laporan", () -> scrollable(new ReportPanel()));
+    }
+
+    private JScrollPane scrollable(JPanel panel) {
+        panel.setBackground(CONTENT_BG);
+        JScrollPane sp = new JScrollPane(panel);
+        sp.setBorder(BorderFactory.createEmptyBorder());
+        sp.getVerticalScrollBar().setUnitIncrement(16);
+        sp.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        sp.getViewport().setBackground(CONTENT_BG);
+        return sp;
+    }
+
+    // [BARU] Logout: hentikan panel aktif & scheduler statistik agar tidak menumpuk setiap login ulang
+    private void logout() {
+        views.dispose();
+        stopStats();
+        statsScheduler.shutdown();
+        Main.setPanel(new LoginPanel());
+    }
+
     private void showHome() { navigateTo("Home"); }
 
+    // [BARU] Home: auto-refresh statistik hanya berjalan selama Home tampil
+    private final class HomeView extends BackgroundPanel implements ManagedView {
+        HomeView() {
+            super(new GridBagLayout(), "assets/img/bg_dashboard.png");
+        }
+
+        @Override
+        public void onActivate(boolean stale) {
+            requestStatsRefresh();
+        }
+
+        @Override
+        public boolean onDeactivate() {
+            stopStats();
+            return false;
+        }
+    }
+
     private JPanel createHomeView() {
-        JPanel home = new JPanel(new GridBagLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_dashboard.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel home = new HomeView();
         home.setBackground(CONTENT_BG);
         
         JPanel wrapper = new JPanel(new BorderLayout(0, 20)); 
@@ -379,14 +411,7 @@ public class LandingPanel extends JPanel {
         cards.setPreferredSize(new Dimension(850, 400));
 
         // CARD 1: EMPLOYEES
-        JPanel empCard = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_card_emp.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel empCard = new BackgroundPanel(new BorderLayout(), "assets/img/bg_card_emp.png");
         empCard.setBackground(UIConstants.WHITE);
         empCard.setBorder(BorderFactory.createCompoundBorder(
             BorderFactory.createLineBorder(new Color(0xE6E6E6), 1), new EmptyBorder(30, 30, 30, 30)
@@ -435,14 +460,7 @@ public class LandingPanel extends JPanel {
         empCard.add(empCenter, BorderLayout.CENTER);
 
         // CARD 2: SALARY
-        JPanel salCard = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_card_salary.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel salCard = new BackgroundPanel(new BorderLayout(), "assets/img/bg_card_salary.png");
         salCard.setBackground(UIConstants.WHITE);
         salCard.setBorder(BorderFactory.createCompoundBorder(
             BorderFactory.createLineBorder(new Color(0xE6E6E6), 1), new EmptyBorder(30, 30, 30, 30)
@@ -474,42 +492,91 @@ public class LandingPanel extends JPanel {
         return home;
     }
 
+    /**
+     * Jalankan refresh sekarang (mis. saat kembali ke Home), lalu lanjutkan siklus normal.
+     */
+    private synchronized void requestStatsRefresh() {
+        if (statsScheduler.isShutdown()) return;
+        statsActive = true;
+        statsDelayMs = STATS_REFRESH_MS;
+        scheduleStatsTick(0);
+    }
+
+    // Hentikan siklus auto-refresh (Home disembunyikan / logout)
+    private synchronized void stopStats() {
+        statsActive = false;
+        statsGeneration++;
+        if (nextStatsTick != null) nextStatsTick.cancel(false);
+        nextStatsTick = null;
+    }
+
+    // Mulai siklus baru: tick yang sedang berjalan dari siklus lama tidak akan menjadwal ulang dirinya
+    private synchronized void scheduleStatsTick(long delayMs) {
+        if (nextStatsTick != null) nextStatsTick.cancel(false);
+        long generation = ++statsGeneration;
+        nextStatsTick = statsScheduler.schedule(() -> statsTick(generation), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Satu tick auto-refresh (thread background).
+     * - Dashboard belum tampil di frame: tidak query, jeda diperpanjang (backoff) sampai maks 60 detik.
+     * - Pindah menu / logout menghentikan siklus lewat stopStats() (lihat HomeView).
+     * - Refresh sebelumnya masih berjalan: tick dilewati.
+     * - Hanya tick dari siklus terbaru (generation) yang menjadwal tick berikutnya.
+     */
+    private void statsTick(long generation) {
+        boolean homeVisible = "Home".equals(currentActiveNav) && isShowing();
+        long nextDelay;
+        if (!homeVisible) {
+            nextDelay = Math.min(statsDelayMs * 2, STATS_MAX_BACKOFF_MS);
+        } else {
+            if (statsInFlight.compareAndSet(false, true)) {
+                try {
+                    refreshHomeStats();
+                } finally {
+                    statsInFlight.set(false);
+                }
+            }
+            nextDelay = STATS_REFRESH_MS;
+        }
+        synchronized (this) {
+            // requestStatsRefresh / stopStats selama tick ini berjalan: siklus baru yang melanjutkan
+            if (generation != statsGeneration || !statsActive || statsScheduler.isShutdown()) return;
+            statsDelayMs = nextDelay;
+            nextStatsTick = statsScheduler.schedule(() -> statsTick(generation), nextDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
     /**
      * CLEAN CODE UPDATE:
      * Logic Raw SQL untuk hitung inactive employee dipindah ke Repository.
      * Tidak ada lagi akses DB langsung di UI.
+     * [UPDATED] Satu query agregat (DashboardStats), dipanggil dari thread background.
      */
     private void refreshHomeStats() {
-        int total = -1, full = -1, part = -1, inactive = -1;
-        double totalSalaryPaid = -1;
-
-        try { 
-            total = employeeRepo.countAll(); 
-            full = employeeRepo.countFullTime(); 
-            part = employeeRepo.countPartTime(); 
-            
-            // [FIXED] Menggunakan method repository, bukan Raw SQL
-            inactive = employeeRepo.countInactive();
-        } catch (Exception ignored) {}
-
+        DashboardStats stats = null;
         try {
             YearMonth ym = YearMonth.now();
-            totalSalaryPaid = payrollService.getTotalPaidForMonth(ym.getYear(), ym.getMonthValue());
+            stats = employeeRepo.getDashboardStats(ym.getYear(), ym.getMonthValue());
         } catch (Exception ignored) {}
 
-        final int fTotal = total;
-        final int fFull = full;
-        final int fPart = part;
-        final int fInactive = inactive;
-        final double fSalary = totalSalaryPaid;
+        final DashboardStats fStats = stats;
 
         SwingUtilities.invokeLater(() -> {
-            totalEmployeesLabel.setText(fTotal >= 0 ? String.valueOf(fTotal) : "—");
-            fulltimeLabel.setText(fFull >= 0 ? "Full-time: " + fFull : "Full-time: —");
-            parttimeLabel.setText(fPart >= 0 ? "Part-time: " + fPart : "Part-time: —");
-            inactiveLabel.setText(fInactive >= 0 ? "Non-Aktif: " + fInactive : "Non-Aktif: —");
-            if (fSalary >= 0) salaryThisMonthLabel.setText(UIConstants.formatRupiah(fSalary));
-            else salaryThisMonthLabel.setText("—");
+            if (totalEmployeesLabel == null) return;
+            if (fStats == null) {
+                totalEmployeesLabel.setText("—");
+                fulltimeLabel.setText("Full-time: —");
+                parttimeLabel.setText("Part-time: —");
+                inactiveLabel.setText("Non-Aktif: —");
+                salaryThisMonthLabel.setText("—");
+                return;
+            }
+            totalEmployeesLabel.setText(String.valueOf(fStats.totalActive));
+            fulltimeLabel.setText("Full-time: " + fStats.fullTime);
+            parttimeLabel.setText("Part-time: " + fStats.partTime);
+            inactiveLabel.setText("Non-Aktif: " + fStats.inactive);
+            salaryThisMonthLabel.setText(UIConstants.formatRupiah(fStats.paidThisMonth));
         });
     }
 
@@ -1,19 +1,17 @@
 import java.awt.*;
-import java.sql.*;
 import javax.swing.*;
 
-public class LoginPanel extends JPanel {
+public class LoginPanel extends BackgroundPanel {
 
     // Komponen Input
     private JTextField userField;
     private JPasswordField passField;
     private JButton loginBtn; 
-    
-    // Gambar background
-    private final Image bg = new ImageIcon("assets/img/bg_login.png").getImage();
+    private final PanelLoader loader = new PanelLoader(this, null, "Database Error: ");
 
     public LoginPanel() {
-        setLayout(new GridBagLayout());
+        // [UPDATED] Background dari cache ImageAssets (BackgroundPanel), tidak di-rescale setiap repaint
+        super(new GridBagLayout(), "assets/img/bg_login.png");
         UIConstants.applyDefaultPadding(this);
 
         GridBagConstraints c = new GridBagConstraints();
@@ -86,14 +84,6 @@ public class LoginPanel extends JPanel {
         }
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        if (bg != null) {
-            g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-        }
-    }
-
     private void doLogin() {
         String user = userField.getText().trim();
         String pass = new String(passField.getPassword());
@@ -103,33 +93,27 @@ public class LoginPanel extends JPanel {
             return;
         }
 
-        // Logic Database Langsung (Tanpa Thread)
-        try (Connection conn = DB.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT username FROM users WHERE username=? AND password=?");
-            ps.setString(1, user);
-            ps.setString(2, pass);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    String adminName = rs.getString("username");
-                    
-                    // Pindah ke Landing Panel
-                    LandingPanel landing = new LandingPanel();
-                    landing.setAdminName(adminName);
-                    Main.setPanel(landing, "Home");
-                    
-                } else {
-                    JOptionPane.showMessageDialog(this, 
-                        "Username atau password salah!", "Login Failed", JOptionPane.ERROR_MESSAGE);
-                    passField.setText("");
-                    passField.requestFocus();
-                }
+        // [UPDATED] Autentikasi di background agar UI tidak membeku selama query
+        loginBtn.setEnabled(false);
+        loader.load(() -> Repositories.get().authenticate(user, pass), adminName -> {
+            loginBtn.setEnabled(true);
+            if (adminName != null) {
+                // Pindah ke Landing Panel
+                LandingPanel landing = new LandingPanel();
+                landing.setAdminName(adminName);
+                Main.setPanel(landing, "Home");
+                
+            } else {
+                JOptionPane.showMessageDialog(this, 
+                    "Username atau password salah!", "Login Failed", JOptionPane.ERROR_MESSAGE);
+                passField.setText("");
+                passField.requestFocus();
             }
-        } catch (Exception e) {
+        }, e -> {
+            loginBtn.setEnabled(true);
             JOptionPane.showMessageDialog(this, 
                 "Database Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             e.printStackTrace();
-        }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+/**
+ * ManagedView - Hook siklus hidup untuk panel yang disimpan ViewRegistry (tidak dibuat ulang setiap navigasi).
+ * - Dipanggil dari EDT.
+ */
+public interface ManagedView {
+
+    /**
+     * Panel ditampilkan lagi.
+     * @param stale true jika data berubah sejak panel terakhir tampil -> muat ulang; false -> tampilkan apa adanya.
+     */
+    void onActivate(boolean stale);
+
+    /**
+     * Panel disembunyikan: hentikan timer / loading background.
+     * @return true jika ada loading yang dibatalkan (isi panel belum lengkap, dimuat ulang saat aktif lagi).
+     */
+    boolean onDeactivate();
+}
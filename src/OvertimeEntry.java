@@ -24,6 +24,14 @@ public class OvertimeEntry {
     // Status apakah tanggal ini ditandai sebagai hari libur (dari DB, meskipun tidak digunakan untuk tarif)
     public final boolean isHoliday; 
 
+    // [BARU] Nilai primitif yang dihitung sekali saat entri dibuat (dipakai akumulator lembur tanpa alokasi)
+    // Tanggal dalam bulan (1-31), 0 jika tanggal kosong
+    public final int dayOfMonth;
+    // Durasi lembur dalam menit (Duration.between(start, end)), 0 jika waktu kosong
+    public final int durationMinutes;
+    // true jika tanggal jatuh pada Sabtu/Minggu
+    public final boolean weekend;
+
     /**
      * Konstruktor untuk inisialisasi semua properti OvertimeEntry.
      */
@@ -34,6 +42,19 @@ public class OvertimeEntry {
         this.start = start;
         this.end = end;
         this.isHoliday = isHoliday;
+
+        if (date != null) {
+            LocalDate localDate = date.toLocalDate();
+            DayOfWeek day = localDate.getDayOfWeek();
+            this.dayOfMonth = localDate.getDayOfMonth();
+            this.weekend = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+        } else {
+            this.dayOfMonth = 0;
+            this.weekend = false;
+        }
+        this.durationMinutes = (start != null && end != null)
+                ? (int) Duration.between(start.toLocalTime(), end.toLocalTime()).toMinutes()
+                : 0;
     }
 
     /**
@@ -63,11 +84,7 @@ public class OvertimeEntry {
      */
     public boolean isWeekday() {
         if (date == null) return false;
-        // Konversi java.sql.Date ke LocalDate untuk mendapatkan DayOfWeek
-        LocalDate localDate = date.toLocalDate();
-        DayOfWeek day = localDate.getDayOfWeek();
-        // Cek jika bukan Sabtu atau Minggu
-        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+        return !weekend;
     }
     
     /**
@@ -75,11 +92,6 @@ public class OvertimeEntry {
      * @return true jika Sabtu atau Minggu, false jika hari kerja.
      */
     public boolean isWeekend() {
-        if (date == null) return false;
-        // Konversi java.sql.Date ke LocalDate untuk mendapatkan DayOfWeek
-        LocalDate localDate = date.toLocalDate();
-        DayOfWeek day = localDate.getDayOfWeek();
-        // Cek jika Sabtu atau Minggu
-        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+        return weekend;
     }
 }
\ No newline at end of file
@@ -1,13 +1,17 @@
 import java.awt.*;
-import java.sql.*;
+import java.sql.Date;
+import java.sql.Time;
 import java.time.*;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 
-public class OvertimePanel extends JPanel {
+public class OvertimePanel extends JPanel implements ManagedView {
 
     // --- COMPONENTS ---
     private JComboBox<Integer> inputYearBox;
@@ -35,7 +39,9 @@ public class OvertimePanel extends JPanel {
 
     private JButton saveBtn;
 
-    private DefaultTableModel tableModel;
+    private RowTableModel<Line> tableModel;
+    private RowView<Line> view;
+    private PanelLoader loader;
     private JTable table;
 
     // State Variables
@@ -43,7 +49,7 @@ public class OvertimePanel extends JPanel {
     private String selectedEmployeeName = null;
     private String selectedEmployeeType = null;
 
-    private final PayrollRepository repo = new EmployeeRepository();
+    private final PayrollRepository repo = Repositories.get();
     private static final int PREFERRED_CARD_HEIGHT = 720;
     private ParttimeDaysVerifier parttimeVerifier = new ParttimeDaysVerifier(31); 
 
@@ -86,17 +92,23 @@ public class OvertimePanel extends JPanel {
         loadTableData();
     }
 
+    // [BARU] ManagedView: panel dipakai ulang oleh LandingPanel (ViewRegistry), dimuat ulang hanya jika datanya basi
+    @Override
+    public void onActivate(boolean stale) {
+        if (stale) loadTableData();
+    }
+
+    @Override
+    public boolean onDeactivate() {
+        if (!loader.isLoading()) return false;
+        loader.cancel();
+        return true;
+    }
+
     // --- UI BUILDERS ---
 
     private JPanel buildTableCard() {
-        JPanel card = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_table.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel card = new BackgroundPanel(new BorderLayout(), "assets/img/bg_table.png");
         UIConstants.styleCardPanel(card);
 
         // Header Filter
@@ -131,7 +143,7 @@ public class OvertimePanel extends JPanel {
         // Listeners
         filterYearBox.addActionListener(a -> loadTableData());
         filterMonthBox.addActionListener(a -> loadTableData());
-        sortBox.addActionListener(a -> loadTableData());
+        sortBox.addActionListener(a -> applySort()); // [UPDATED] Sort di sisi klien, tanpa query ulang
 
         JLabel yLbl = new JLabel("Tahun:"); UIConstants.applyBodyLabel(yLbl);
         JLabel mLbl = new JLabel("Bulan:"); UIConstants.applyBodyLabel(mLbl);
@@ -142,14 +154,28 @@ public class OvertimePanel extends JPanel {
         filter.add(sLbl); filter.add(sortBox); // Add Sort Box
 
         header.add(filter, BorderLayout.EAST);
+
+        // [BARU] Status loading (progres baris)
+        JLabel loadStatusLabel = new JLabel(" ");
+        UIConstants.applyBodyLabel(loadStatusLabel);
+        loadStatusLabel.setForeground(UIConstants.GRAY);
+        header.add(loadStatusLabel, BorderLayout.CENTER);
+        loader = new PanelLoader(this, loadStatusLabel, "Error load data: ");
+
         card.add(header, BorderLayout.NORTH);
 
         // Table
-        tableModel = new DefaultTableModel(new String[]{"ID", "Nama", "Tipe", "OT Weekdays (jam)", "OT Weekend (jam)", "Parttime Days"}, 0) {
-            @Override public boolean isCellEditable(int row, int col) { return false; }
-        };
+        tableModel = new RowTableModel<>(
+            RowTableModel.column("ID", l -> l.id),
+            RowTableModel.column("Nama", l -> l.name),
+            RowTableModel.column("Tipe", l -> l.type),
+            RowTableModel.column("OT Weekdays (jam)", l -> l.weekdayHours),
+            RowTableModel.column("OT Weekend (jam)", l -> l.weekendHours),
+            RowTableModel.column("Parttime Days", l -> l.parttimeDays)
+        );
         table = new JTable(tableModel);
         UIConstants.styleTable(table);
+        view = new RowView<>(table, tableModel);
         table.setOpaque(false);
         ((DefaultTableCellRenderer)table.getDefaultRenderer(Object.class)).setOpaque(false);
         table.setShowGrid(true);
@@ -167,14 +193,7 @@ public class OvertimePanel extends JPanel {
     }
 
     private JPanel buildAdaptiveInputCard() {
-        JPanel card = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_overtime.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel card = new BackgroundPanel(new BorderLayout(), "assets/img/bg_overtime.png");
         UIConstants.styleCardPanel(card);
 
         JPanel body = new JPanel(new GridBagLayout());
@@ -291,28 +310,11 @@ public class OvertimePanel extends JPanel {
         int defYear = LocalDate.now().getYear();
         int defMonth = LocalDate.now().getMonthValue();
         
-        String sql = """
-            SELECT year_col AS y, month_col AS m FROM (
-              SELECT MAX(CONCAT(LPAD(year,4,'0'),LPAD(month,2,'0'))) AS ym, MAX(year) AS year_col, MAX(month) AS month_col
-              FROM (
-                SELECT YEAR(ot_date) AS year, MONTH(ot_date) AS month FROM overtime_entries
-                UNION ALL
-                SELECT year, month FROM work_records
-              ) t
-            ) x
-            WHERE ym IS NOT NULL
-            LIMIT 1
-            """;
-        try (Connection conn = DB.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) {
-                int y = rs.getInt("y");
-                int m = rs.getInt("m");
-                if (y > 0) defYear = y;
-                if (m > 0) defMonth = m;
-            }
-        } catch (Exception ignored) {}
+        YearMonth latest = repo.findLatestDataMonth();
+        if (latest != null) {
+            defYear = latest.getYear();
+            defMonth = latest.getMonthValue();
+        }
 
         final int fy = defYear;
         final int fm = defMonth;
@@ -335,106 +337,118 @@ public class OvertimePanel extends JPanel {
         if (parttimeVerifier != null) parttimeVerifier.setMaxDays(days);
     }
 
+    // [UPDATED] Loading tabel di background lewat PanelLoader (hasil request lama diabaikan)
     private void loadTableData() {
-        tableModel.setRowCount(0);
+        // Nilai periode dibaca di EDT, dipakai di background
         int year = (int) filterYearBox.getSelectedItem();
         int month = (int) filterMonthBox.getSelectedItem();
-        String sortMode = (String) sortBox.getSelectedItem();
-        
-        try {
-            List<Employee> employees = repo.findAll();
-            
-            // [BARU] Logic Sorting
-            if ("Nama".equals(sortMode)) {
-                employees.sort((e1, e2) -> e1.getName().compareToIgnoreCase(e2.getName()));
-            } else {
-                employees.sort(Comparator.comparingInt(Employee::getId));
-            }
 
-            for (Employee e : employees) {
-                double weekdayHours = 0.0;
-                double weekendHours = 0.0;
-                int parttimeDays = 0;
-
-                if ("FULLTIME".equalsIgnoreCase(e.getEmploymentType())) {
-                    List<OvertimeEntry> otEntries = repo.findOvertimeEntriesForMonth(e.getId(), year, month);
-                    for (OvertimeEntry entry : otEntries) {
-                        double hours = entry.getHours();
-                        if (entry.isWeekday()) weekdayHours += hours;
-                        else if (entry.isWeekend()) weekendHours += hours;
-                    }
-                }
+        loader.loadRows(() -> buildLines(year, month), tableModel, lines -> {});
+    }
 
-                if ("PARTTIME".equalsIgnoreCase(e.getEmploymentType())) {
-                    parttimeDays = getParttimeDaysFromDB(e.getId(), year, month);
-                }
-                
-                if (weekdayHours > 0 || weekendHours > 0 || parttimeDays > 0) {
-                    tableModel.addRow(new Object[]{
-                        e.getId(), e.getName(), e.getEmploymentType(),
-                        round2(weekdayHours), round2(weekendHours), parttimeDays
-                    });
+    // [BARU] Ubah urutan data yang sudah dimuat (RowView)
+    private void applySort() {
+        view.apply("Nama".equals(sortBox.getSelectedItem()) ? BY_NAME : BY_ID, null);
+    }
+
+    private List<Line> buildLines(int year, int month) throws Exception {
+        List<Line> lines = new ArrayList<>();
+        List<Employee> employees = repo.findAll();
+        
+        // Urutan model = ID; urutan tampilan diatur RowView
+        employees.sort(Comparator.comparingInt(Employee::getId));
+
+        // Bulk: dua query untuk seluruh karyawan, lembur dari ringkasan bulanan (tanpa agregasi entri)
+        Map<Integer, OvertimeSummary> summaries = repo.findOvertimeSummariesForMonth(year, month);
+        Map<Integer, Integer> daysByEmployee = repo.findPartTimeDaysForMonth(year, month);
+
+        for (Employee e : employees) {
+            double weekdayHours = 0.0;
+            double weekendHours = 0.0;
+            int parttimeDays = 0;
+
+            if ("FULLTIME".equalsIgnoreCase(e.getEmploymentType())) {
+                OvertimeSummary summary = summaries.get(e.getId());
+                if (summary != null) {
+                    weekdayHours = summary.getWeekdayHours();
+                    weekendHours = summary.getWeekendHours();
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+
+            if ("PARTTIME".equalsIgnoreCase(e.getEmploymentType())) {
+                parttimeDays = daysByEmployee.getOrDefault(e.getId(), 0);
+            }
+            
+            if (weekdayHours > 0 || weekendHours > 0 || parttimeDays > 0) {
+                lines.add(new Line(e.getId(), e.getName(), e.getEmploymentType(),
+                        round2(weekdayHours), round2(weekendHours), parttimeDays));
+            }
         }
+        return lines;
     }
-    
-    // Helper kecil untuk query parttime days
-    private int getParttimeDaysFromDB(int empId, int year, int month) {
-        String sql = "SELECT parttime_days FROM work_records WHERE employee_id=? AND year=? AND month=?";
-        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, empId); ps.setInt(2, year); ps.setInt(3, month);
-            try(ResultSet rs = ps.executeQuery()){ if(rs.next()) return rs.getInt(1); }
-        } catch(Exception e) {}
-        return 0;
+
+    // [BARU] Satu baris tabel rekap lembur (immutable)
+    private static final class Line {
+        final int id;
+        final String name;
+        final String type;
+        final double weekdayHours;
+        final double weekendHours;
+        final int parttimeDays;
+        final String nameKey; // Kunci sort (lowercase), dihitung sekali
+
+        Line(int id, String name, String type, double weekdayHours, double weekendHours, int parttimeDays) {
+            this.id = id; this.name = name; this.type = type;
+            this.weekdayHours = weekdayHours; this.weekendHours = weekendHours; this.parttimeDays = parttimeDays;
+            this.nameKey = name.toLowerCase(Locale.ROOT);
+        }
     }
 
+    private static final Function<Line, Integer> BY_ID = l -> l.id;
+    private static final Function<Line, String> BY_NAME = l -> l.nameKey;
+
     private void doCheckByName() {
         String name = nameField.getText().trim();
         if (name.isEmpty()) { JOptionPane.showMessageDialog(this, "Masukkan nama."); return; }
 
-        String sql = "SELECT id, name, employment_type, is_active FROM employees WHERE LOWER(name) = LOWER(?) ORDER BY is_active DESC";
-        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, name);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (!rs.next()) {
-                    resetInputFields(); JOptionPane.showMessageDialog(this, "Nama tidak ditemukan."); return;
-                }
-                int id = rs.getInt("id");
-                String dbName = rs.getString("name");
-                String type = rs.getString("employment_type");
-                boolean isActive = rs.getBoolean("is_active");
-
-                if (!isActive) {
-                    resetInputFields();
-                    JOptionPane.showMessageDialog(this, "Karyawan Non-Aktif.", "Warning", JOptionPane.WARNING_MESSAGE);
-                    return;
-                }
+        try {
+            // Urutan findByName: aktif dulu (sama seperti ORDER BY is_active DESC)
+            List<Employee> found = repo.findByName(name);
+            if (found.isEmpty()) {
+                resetInputFields(); JOptionPane.showMessageDialog(this, "Nama tidak ditemukan."); return;
+            }
+            Employee emp = found.get(0);
+            int id = emp.getId();
+            String dbName = emp.getName();
+            String type = emp.getEmploymentType();
+
+            if (!emp.isActive()) {
+                resetInputFields();
+                JOptionPane.showMessageDialog(this, "Karyawan Non-Aktif.", "Warning", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
 
-                selectedEmployeeId = id; selectedEmployeeName = dbName; selectedEmployeeType = type;
-                nameField.setText(dbName);
+            selectedEmployeeId = id; selectedEmployeeName = dbName; selectedEmployeeType = type;
+            nameField.setText(dbName);
 
-                // Cek Paid Status
-                if (isMonthPaid(conn, id, (int)inputYearBox.getSelectedItem(), (int)inputMonthBox.getSelectedItem())) {
-                    JOptionPane.showMessageDialog(this, "Periode ini sudah DIBAYAR. Tidak bisa edit.", "Info", JOptionPane.INFORMATION_MESSAGE);
-                    resetInputFields();
-                    return;
-                }
+            // Cek Paid Status
+            if (isMonthPaid(id, (int)inputYearBox.getSelectedItem(), (int)inputMonthBox.getSelectedItem())) {
+                JOptionPane.showMessageDialog(this, "Periode ini sudah DIBAYAR. Tidak bisa edit.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                resetInputFields();
+                return;
+            }
 
-                // Show Inputs based on Type
-                if ("FULLTIME".equalsIgnoreCase(type)) {
-                    inputDayLbl.setVisible(true); inputDayBox.setVisible(true);
-                    setAdaptiveVisible(true, false);
-                } else {
-                    inputDayLbl.setVisible(false); inputDayBox.setVisible(false);
-                    setAdaptiveVisible(false, true);
-                    parttimeVerifier.setMaxDays(YearMonth.of((int)inputYearBox.getSelectedItem(), (int)inputMonthBox.getSelectedItem()).lengthOfMonth());
-                }
-                setInputsEditable(true); saveBtn.setEnabled(true);
-                JOptionPane.showMessageDialog(this, "Ditemukan: " + dbName + " (" + type + ")");
+            // Show Inputs based on Type
+            if ("FULLTIME".equalsIgnoreCase(type)) {
+                inputDayLbl.setVisible(true); inputDayBox.setVisible(true);
+                setAdaptiveVisible(true, false);
+            } else {
+                inputDayLbl.setVisible(false); inputDayBox.setVisible(false);
+                setAdaptiveVisible(false, true);
+                parttimeVerifier.setMaxDays(YearMonth.of((int)inputYearBox.getSelectedItem(), (int)inputMonthBox.getSelectedItem()).lengthOfMonth());
             }
+            setInputsEditable(true); saveBtn.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Ditemukan: " + dbName + " (" + type + ")");
         } catch (Exception e) { e.printStackTrace(); }
     }
 
@@ -443,11 +457,11 @@ public class OvertimePanel extends JPanel {
         int year = (int) inputYearBox.getSelectedItem();
         int month = (int) inputMonthBox.getSelectedItem();
 
-        try (Connection conn = DB.getConnection()) {
-            if (isMonthPaid(conn, selectedEmployeeId, year, month)) {
+        try {
+            if (isMonthPaid(selectedEmployeeId, year, month)) {
                 JOptionPane.showMessageDialog(this, "Sudah dibayar, batal simpan."); return;
             }
-            ensureWorkRecord(conn, selectedEmployeeId, year, month);
+            repo.ensureWorkRecord(selectedEmployeeId, year, month);
 
             if ("FULLTIME".equalsIgnoreCase(selectedEmployeeType)) {
                 // Save Overtime
@@ -463,11 +477,7 @@ public class OvertimePanel extends JPanel {
             } else {
                 // Save Parttime Days
                 int days = Integer.parseInt(parttimeDaysField.getText().trim());
-                // Update via SQL manual
-                try(PreparedStatement ps = conn.prepareStatement("UPDATE work_records SET parttime_days=? WHERE employee_id=? AND year=? AND month=?")){
-                    ps.setInt(1, days); ps.setInt(2, selectedEmployeeId); ps.setInt(3, year); ps.setInt(4, month);
-                    ps.executeUpdate();
-                }
+                repo.updateParttimeDays(selectedEmployeeId, year, month, days);
                 JOptionPane.showMessageDialog(this, "Hari kerja tersimpan.");
             }
             loadTableData(); nameField.setText(""); resetInputFields();
@@ -476,25 +486,8 @@ public class OvertimePanel extends JPanel {
         }
     }
     
-    private boolean isMonthPaid(Connection conn, int eid, int y, int m) {
-        try(PreparedStatement ps = conn.prepareStatement("SELECT status FROM payrolls WHERE employee_id=? AND year=? AND month=?")){
-            ps.setInt(1, eid); ps.setInt(2, y); ps.setInt(3, m);
-            try(ResultSet rs=ps.executeQuery()){ if(rs.next()) return "PAID".equalsIgnoreCase(rs.getString("status")); }
-        } catch(Exception e){}
-        return false;
-    }
-    
-    private void ensureWorkRecord(Connection conn, int eid, int y, int m) throws SQLException {
-        try(PreparedStatement ps=conn.prepareStatement("SELECT 1 FROM work_records WHERE employee_id=? AND year=? AND month=?")){
-            ps.setInt(1, eid); ps.setInt(2, y); ps.setInt(3, m);
-            try(ResultSet rs=ps.executeQuery()){
-                if(!rs.next()){
-                    try(PreparedStatement ins=conn.prepareStatement("INSERT INTO work_records(employee_id,year,month,parttime_days) VALUES (?,?,?,0)")){
-                        ins.setInt(1, eid); ins.setInt(2, y); ins.setInt(3, m); ins.executeUpdate();
-                    }
-                }
-            }
-        }
+    private boolean isMonthPaid(int eid, int y, int m) {
+        return "PAID".equalsIgnoreCase(repo.findPayrollStatus(eid, y, m));
     }
     
     private void resetInputFields() {
@@ -516,7 +509,7 @@ public class OvertimePanel extends JPanel {
         startTimeField.setEnabled(b); endTimeField.setEnabled(b); parttimeDaysField.setEnabled(b); saveBtn.setEnabled(b);
     }
     
-    private double round2(double v) { return Math.round(v*100.0)/100.0; }
+    private static double round2(double v) { return Math.round(v*100.0)/100.0; }
 
     // Inner Classes Verifier
     private static class TimeFormatterVerifier extends InputVerifier {
@@ -0,0 +1,55 @@
+import java.nio.ByteBuffer;
+
+/**
+ * OvertimeSummary - Satu baris tabel overtime_monthly_summary (karyawan + periode).
+ * Total lembur yang dipelihara incremental setiap entri lembur ditambah/dihapus,
+ * sehingga pembacaan tidak perlu mengagregasi ulang overtime_entries.
+ */
+public class OvertimeSummary {
+    public final int employeeId;
+    public final int year;
+    public final int month;
+    public final int weekdayMinutes;
+    public final int weekendMinutes;
+    // Menit lembur per tanggal (int[31], index 0 = tanggal 1), input tier PayrollInput
+    public final int[] dayMinutes;
+    // Naik 1 setiap kali baris berubah (untuk deteksi perubahan oleh cache)
+    public final long version;
+
+    public OvertimeSummary(int employeeId, int year, int month, int weekdayMinutes, int weekendMinutes,
+                           int[] dayMinutes, long version) {
+        this.employeeId = employeeId;
+        this.year = year;
+        this.month = month;
+        this.weekdayMinutes = weekdayMinutes;
+        this.weekendMinutes = weekendMinutes;
+        this.dayMinutes = dayMinutes;
+        this.version = version;
+    }
+
+    public double getWeekdayHours() { return weekdayMinutes / 60.0; }
+    public double getWeekendHours() { return weekendMinutes / 60.0; }
+
+    /**
+     * Menit yang dihitung dari satu entri: sama seperti agregasi lama (durasi negatif dianggap 0).
+     */
+    public static int countedMinutes(OvertimeEntry entry) {
+        return Math.max(entry.durationMinutes, 0);
+    }
+
+    // --- Encoding kolom day_minutes: 31 x int big-endian (124 byte) ---
+
+    public static byte[] encodeDays(int[] dayMinutes) {
+        ByteBuffer buf = ByteBuffer.allocate(PayrollInput.MAX_DAYS * Integer.BYTES);
+        for (int d = 0; d < PayrollInput.MAX_DAYS; d++) buf.putInt(d < dayMinutes.length ? dayMinutes[d] : 0);
+        return buf.array();
+    }
+
+    public static int[] decodeDays(byte[] bytes) {
+        int[] out = new int[PayrollInput.MAX_DAYS];
+        if (bytes == null) return out;
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        for (int d = 0; d < PayrollInput.MAX_DAYS && buf.remaining() >= Integer.BYTES; d++) out[d] = buf.getInt();
+        return out;
+    }
+}
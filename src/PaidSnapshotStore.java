@@ -0,0 +1,251 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PaidSnapshotStore - Simpanan permanen untuk bulan yang SELURUH barisnya sudah PAID.
+ * - Angka PAID sudah beku (snapshot tipe, golongan, base, lembur, total) + info pembayaran dari payment_logs.
+ * - Dimuat sekali; tidak pernah di-invalidate kecuali koreksi admin atau hapus permanen karyawan.
+ *   Koreksi admin: tombol "Muat Ulang dari DB" di ReportPanel (evict satu bulan), atau
+ *   -Dpayroll.snapshot.reset=true saat start (evictAll, lihat Main).
+ * - Selalu di memori; opsional juga ke file lokal (-Dpayroll.snapshot.dir=...), satu file per bulan,
+ *   sehingga setelah aplikasi dibuka ulang bulan historis tetap tidak perlu query.
+ */
+public class PaidSnapshotStore {
+
+    private static final String FILE_HEADER = "# paid-snapshot v1";
+
+    // Store bersama untuk repository MySQL (file opsional)
+    private static final PaidSnapshotStore SHARED = new PaidSnapshotStore(dirFromProperty());
+
+    public static PaidSnapshotStore shared() {
+        return SHARED;
+    }
+
+    /**
+     * Satu baris PAID beku beserta info pembayarannya.
+     */
+    public static final class Row {
+        public final PayrollService.PayrollRow payroll;
+        public final String paidBy;
+        public final String paidAt;
+
+        public Row(PayrollService.PayrollRow payroll, String paidBy, String paidAt) {
+            this.payroll = payroll;
+            this.paidBy = paidBy;
+            this.paidAt = paidAt;
+        }
+    }
+
+    /**
+     * Satu bulan yang sudah lunas (immutable).
+     */
+    public static final class MonthSnapshot {
+        public final int year;
+        public final int month;
+        // Urutan sama seperti hasil calculateAll saat snapshot dibuat
+        public final List<Row> rows;
+        private final Map<Integer, Row> byId;
+
+        MonthSnapshot(int year, int month, List<Row> rows) {
+            this.year = year;
+            this.month = month;
+            this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+            Map<Integer, Row> index = new HashMap<>();
+            for (Row r : rows) index.put(r.payroll.id, r);
+            this.byId = index;
+        }
+
+        public boolean contains(int employeeId) {
+            return byId.containsKey(employeeId);
+        }
+
+        public Row get(int employeeId) {
+            return byId.get(employeeId);
+        }
+    }
+
+    // Penanda "sudah dicek, tidak ada file" agar file tidak dicari berulang kali
+    private static final MonthSnapshot NONE = new MonthSnapshot(0, 0, List.of());
+
+    private final Path dir;
+    private final Map<Integer, MonthSnapshot> months = new ConcurrentHashMap<>();
+
+    /**
+     * @param dir Folder file snapshot, null = hanya di memori.
+     */
+    public PaidSnapshotStore(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Bulan yang boleh di-snapshot: sudah lewat (bulan berjalan masih bisa berubah).
+     */
+    public static boolean isClosedMonth(int year, int month) {
+        return YearMonth.of(year, month).isBefore(YearMonth.now());
+    }
+
+    /**
+     * @return Snapshot bulan tsb, atau null jika belum ada.
+     */
+    public MonthSnapshot get(int year, int month) {
+        MonthSnapshot s = months.computeIfAbsent(key(year, month), k -> {
+            MonthSnapshot fromFile = readFile(year, month);
+            return fromFile != null ? fromFile : NONE;
+        });
+        return s == NONE ? null : s;
+    }
+
+    /**
+     * Simpan snapshot bulan yang seluruh barisnya PAID. Ditimpa jika sudah ada (mis. karyawan baru ikut dibayar).
+     */
+    public void put(int year, int month, List<Row> rows) {
+        MonthSnapshot s = new MonthSnapshot(year, month, rows);
+        months.put(key(year, month), s);
+        writeFile(s);
+    }
+
+    // --- Koreksi admin ---
+
+    /**
+     * Buang snapshot satu bulan (memori + file). Pembacaan berikutnya dihitung ulang dari DB.
+     */
+    public void evict(int year, int month) {
+        months.remove(key(year, month));
+        deleteFile(year, month);
+    }
+
+    /**
+     * Buang semua snapshot yang memuat karyawan tsb (dipakai saat hapus permanen).
+     */
+    public void evictEmployee(int employeeId) {
+        for (Map.Entry<Integer, MonthSnapshot> e : months.entrySet()) {
+            MonthSnapshot s = e.getValue();
+            if (s != NONE && s.contains(employeeId)) evict(s.year, s.month);
+        }
+        // Snapshot yang hanya ada di file (belum pernah dibaca) ikut diperiksa
+        if (dir == null || !Files.isDirectory(dir)) return;
+        try (var files = Files.newDirectoryStream(dir, "paid-*.tsv")) {
+            for (Path f : files) {
+                MonthSnapshot s = readFile(f);
+                if (s != null && s.contains(employeeId)) evict(s.year, s.month);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Buang semua snapshot (memori + file).
+     */
+    public void evictAll() {
+        months.clear();
+        if (dir == null || !Files.isDirectory(dir)) return;
+        try (var files = Files.newDirectoryStream(dir, "paid-*.tsv")) {
+            for (Path f : files) Files.deleteIfExists(f);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // --- File (TSV, satu bulan per file) ---
+
+    private static Path dirFromProperty() {
+        String d = System.getProperty("payroll.snapshot.dir");
+        return (d == null || d.isBlank()) ? null : Paths.get(d);
+    }
+
+    private Path fileOf(int year, int month) {
+        return dir.resolve(String.format("paid-%04d-%02d.tsv", year, month));
+    }
+
+    private MonthSnapshot readFile(int year, int month) {
+        if (dir == null) return null;
+        Path f = fileOf(year, month);
+        return Files.isRegularFile(f) ? readFile(f) : null;
+    }
+
+    private MonthSnapshot readFile(Path f) {
+        try (BufferedReader in = Files.newBufferedReader(f, StandardCharsets.UTF_8)) {
+            String header = in.readLine();
+            String period = in.readLine();
+            if (!FILE_HEADER.equals(header) || period == null) return null;
+            String[] ym = period.split("\t");
+            int year = Integer.parseInt(ym[0]);
+            int month = Integer.parseInt(ym[1]);
+
+            List<Row> rows = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                String[] c = line.split("\t", -1);
+                PayrollService.PayrollRow p = new PayrollService.PayrollRow(
+                    Integer.parseInt(c[0]), c[1], c[2],
+                    c[3].isEmpty() ? null : Integer.valueOf(c[3]),
+                    Double.parseDouble(c[4]), Double.parseDouble(c[5]),
+                    Integer.parseInt(c[6]), Double.parseDouble(c[7]), "PAID"
+                );
+                rows.add(new Row(p, c[8], c[9]));
+            }
+            return new MonthSnapshot(year, month, rows);
+        } catch (Exception e) {
+            // File rusak diabaikan; bulan tsb dihitung dari DB seperti biasa
+            System.err.println("[PaidSnapshotStore] Gagal membaca " + f + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeFile(MonthSnapshot s) {
+        if (dir == null) return;
+        try {
+            Files.createDirectories(dir);
+            Path target = fileOf(s.year, s.month);
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                out.write(FILE_HEADER); out.newLine();
+                out.write(s.year + "\t" + s.month); out.newLine();
+                for (Row r : s.rows) {
+                    PayrollService.PayrollRow p = r.payroll;
+                    out.write(p.id + "\t" + clean(p.name) + "\t" + clean(p.type) + "\t"
+                            + (p.golongan == null ? "" : p.golongan) + "\t"
+                            + p.base + "\t" + p.overtime + "\t" + p.daysWorked + "\t" + p.total + "\t"
+                            + clean(r.paidBy) + "\t" + clean(r.paidAt));
+                    out.newLine();
+                }
+            }
+            // Ganti file lama sekaligus agar pembaca tidak melihat file setengah jadi
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void deleteFile(int year, int month) {
+        if (dir == null) return;
+        try {
+            Files.deleteIfExists(fileOf(year, month));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String clean(String s) {
+        return s == null ? "-" : s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static int key(int year, int month) {
+        return year * 100 + month;
+    }
+}
@@ -0,0 +1,175 @@
+import java.awt.Cursor;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
+
+/**
+ * PanelLoader - Loading data panel di background (SwingWorker) dengan pembatalan request lama.
+ * - Setiap load() / loadRows() mendapat nomor generasi baru; worker sebelumnya dibatalkan
+ *   dan hasilnya diabaikan walaupun datang terlambat (urutan hasil selalu mengikuti request terakhir).
+ * - Query berjalan di luar EDT; callback selalu di EDT.
+ * - loadRows mem-publish baris ke RowTableModel per potongan (-Dpayroll.ui.chunkSize=500)
+ *   sehingga tabel besar tampil bertahap tanpa membekukan UI.
+ * - Selama loading: cursor WAIT pada panel + teks progres di statusLabel (opsional).
+ * - Semua method dipanggil dari EDT.
+ */
+public class PanelLoader {
+
+    private static final int CHUNK_SIZE = Integer.getInteger("payroll.ui.chunkSize", 500);
+
+    // Pekerjaan yang dijalankan di background thread
+    public interface Query<R> {
+        R run() throws Exception;
+    }
+
+    private final JComponent owner;
+    private final JLabel statusLabel; // boleh null
+    private final String errorPrefix;
+
+    private long generation;          // hanya diakses di EDT
+    private SwingWorker<?, ?> current;
+
+    public PanelLoader(JComponent owner, JLabel statusLabel, String errorPrefix) {
+        this.owner = owner;
+        this.statusLabel = statusLabel;
+        this.errorPrefix = errorPrefix;
+    }
+
+    /**
+     * Jalankan query di background lalu panggil onSuccess (EDT) jika request ini masih yang terbaru.
+     */
+    public <R> void load(Query<R> query, Consumer<R> onSuccess) {
+        load(query, onSuccess, this::showError);
+    }
+
+    public <R> void load(Query<R> query, Consumer<R> onSuccess, Consumer<Exception> onError) {
+        final long gen = begin("Memuat...");
+        SwingWorker<R, Void> worker = new SwingWorker<>() {
+            @Override
+            protected R doInBackground() throws Exception {
+                return query.run();
+            }
+
+            @Override
+            protected void done() {
+                if (!isCurrent(gen)) return; // Sudah diganti request yang lebih baru
+                finish();
+                try {
+                    onSuccess.accept(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    onError.accept(unwrap(e));
+                }
+            }
+        };
+        start(worker);
+    }
+
+    /**
+     * Muat baris tabel: model dikosongkan, query di background, lalu baris dipublish per potongan.
+     * @param onDone Dipanggil (EDT) setelah semua baris masuk model, mis. untuk menghitung total.
+     */
+    public <T> void loadRows(Query<? extends List<T>> query, RowTableModel<T> model, Consumer<List<T>> onDone) {
+        final long gen = begin("Memuat...");
+        model.clear();
+
+        SwingWorker<List<T>, List<T>> worker = new SwingWorker<>() {
+            private volatile int total;
+            // Hanya diakses di EDT
+            private int published;
+            private boolean finished;
+
+            @Override
+            protected List<T> doInBackground() throws Exception {
+                List<T> rows = query.run();
+                total = rows.size();
+                for (int from = 0; from < rows.size() && !isCancelled(); from += CHUNK_SIZE) {
+                    publish(rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size())));
+                }
+                return rows;
+            }
+
+            @Override
+            protected void process(List<List<T>> chunks) {
+                if (finished || !isCurrent(gen)) return;
+                for (List<T> chunk : chunks) {
+                    model.appendRows(chunk);
+                    published += chunk.size();
+                }
+                setStatus("Memuat " + published + " / " + total + " baris...");
+            }
+
+            @Override
+            protected void done() {
+                if (!isCurrent(gen)) return;
+                finished = true;
+                finish();
+                try {
+                    List<T> rows = get();
+                    // Potongan yang belum sempat diproses (process bisa tergabung / terlambat)
+                    if (published < rows.size()) model.appendRows(rows.subList(published, rows.size()));
+                    onDone.accept(rows);
+                } catch (InterruptedException | ExecutionException e) {
+                    showError(unwrap(e));
+                }
+            }
+        };
+        start(worker);
+    }
+
+    /**
+     * Batalkan loading yang sedang berjalan (hasilnya diabaikan).
+     */
+    public void cancel() {
+        generation++;
+        if (current != null) current.cancel(false);
+        current = null;
+        finish();
+    }
+
+    public boolean isLoading() {
+        return current != null;
+    }
+
+    // --- Internal ---
+
+    private long begin(String status) {
+        // JDBC tidak di-interrupt (koneksi pool tetap sehat); hasilnya cukup diabaikan lewat generasi
+        if (current != null) current.cancel(false);
+        owner.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        setStatus(status);
+        return ++generation;
+    }
+
+    private void start(SwingWorker<?, ?> worker) {
+        current = worker;
+        worker.execute();
+    }
+
+    private boolean isCurrent(long gen) {
+        return gen == generation;
+    }
+
+    private void finish() {
+        current = null;
+        owner.setCursor(Cursor.getDefaultCursor());
+        setStatus(" ");
+    }
+
+    private void setStatus(String text) {
+        if (statusLabel != null) statusLabel.setText(text);
+    }
+
+    private void showError(Exception e) {
+        JOptionPane.showMessageDialog(owner, errorPrefix + e.getMessage());
+        e.printStackTrace();
+    }
+
+    private static Exception unwrap(Exception e) {
+        if (e instanceof ExecutionException && e.getCause() instanceof Exception) return (Exception) e.getCause();
+        return e;
+    }
+}
@@ -0,0 +1,101 @@
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * PayrollInput - Data masukan (immutable) untuk menghitung gaji satu karyawan dalam satu bulan.
+ * - Dimuat oleh repository / service, lalu dihitung oleh Employee.calculatePay(input) tanpa I/O.
+ * - Lembur disimpan sebagai menit per tanggal (index 0 = tanggal 1) + mask akhir pekan bulan tsb.
+ */
+public final class PayrollInput {
+
+    public static final int MAX_DAYS = 31;
+
+    private final int[] overtimeMinutesPerDay;
+    // Bit ke-(tanggal-1) = 1 jika tanggal tsb Sabtu/Minggu
+    public final int weekendMask;
+    public final int partTimeDays;
+    public final double partTimeDailyRate;
+    public final double baseSalary;
+
+    // Tidak pernah menyalin: minutes harus array yang tidak dipegang / diubah pihak lain
+    private PayrollInput(int[] minutes, int weekendMask, int partTimeDays, double partTimeDailyRate, double baseSalary) {
+        this.overtimeMinutesPerDay = minutes;
+        this.weekendMask = weekendMask;
+        this.partTimeDays = partTimeDays;
+        this.partTimeDailyRate = partTimeDailyRate;
+        this.baseSalary = baseSalary;
+    }
+
+    /**
+     * Bundle dengan salinan array menit lembur (aman untuk array milik pemanggil).
+     * @param overtimeMinutesPerDay Menit lembur per tanggal (maks. 31 elemen), disalin. Boleh null.
+     */
+    public static PayrollInput of(int[] overtimeMinutesPerDay, int weekendMask, int partTimeDays, double partTimeDailyRate, double baseSalary) {
+        return new PayrollInput(copyOf(overtimeMinutesPerDay), weekendMask, partTimeDays, partTimeDailyRate, baseSalary);
+    }
+
+    /**
+     * Bundle untuk karyawan tertentu (gaji pokok diambil dari FullTimeEmployee, 0 untuk Part-Time).
+     * @param overtimeMinutesPerDay Array dari loader bulk (PayrollRepository.findOvertimeMinutesForMonth / ForEmployees),
+     *                              tidak disalin. Loader selalu membuat array baru per panggilan dan tidak menyimpannya,
+     *                              jadi setelah diserahkan ke sini array hanya dimiliki bundle ini. Pemanggil lain
+     *                              (mis. PayrollDataGenerator) wajib memberi array baru yang tidak diubah lagi. Boleh null.
+     */
+    static PayrollInput forEmployee(Employee e, int[] overtimeMinutesPerDay, int weekendMask, int partTimeDays, double partTimeDailyRate) {
+        double base = (e instanceof FullTimeEmployee) ? ((FullTimeEmployee) e).getBaseSalary() : 0.0;
+        int[] minutes = overtimeMinutesPerDay != null ? overtimeMinutesPerDay : NO_OVERTIME;
+        return new PayrollInput(minutes, weekendMask, partTimeDays, partTimeDailyRate, base);
+    }
+
+    /**
+     * Bundle dari daftar entri lembur satu bulan (mis. hasil findOvertimeEntriesForMonth per karyawan).
+     */
+    public static PayrollInput fromEntries(List<OvertimeEntry> entries, int partTimeDays, double partTimeDailyRate, double baseSalary) {
+        int[] minutes = new int[MAX_DAYS];
+        int mask = 0;
+        for (OvertimeEntry entry : entries) {
+            int day = entry.dayOfMonth;
+            if (day == 0 || entry.durationMinutes <= 0) continue;
+            minutes[day - 1] += entry.durationMinutes;
+            if (entry.weekend) mask |= 1 << (day - 1);
+        }
+        return new PayrollInput(minutes, mask, partTimeDays, partTimeDailyRate, baseSalary);
+    }
+
+    public int overtimeMinutesOn(int dayOfMonth) {
+        return overtimeMinutesPerDay[dayOfMonth - 1];
+    }
+
+    public boolean isWeekend(int dayOfMonth) {
+        return ((weekendMask >>> (dayOfMonth - 1)) & 1) != 0;
+    }
+
+    // Akses langsung untuk loop perhitungan (read-only)
+    int[] overtimeMinutesPerDay() {
+        return overtimeMinutesPerDay;
+    }
+
+    /**
+     * Mask akhir pekan untuk satu bulan: bit ke-(tanggal-1) = 1 jika Sabtu/Minggu.
+     */
+    public static int weekendMask(int year, int month) {
+        YearMonth ym = YearMonth.of(year, month);
+        int firstDow = ym.atDay(1).getDayOfWeek().getValue(); // 1 = Senin ... 7 = Minggu
+        int mask = 0;
+        for (int d = 0; d < ym.lengthOfMonth(); d++) {
+            int dow = (firstDow - 1 + d) % 7 + 1;
+            if (dow >= 6) mask |= 1 << d;
+        }
+        return mask;
+    }
+
+    private static final int[] NO_OVERTIME = new int[MAX_DAYS];
+
+    private static int[] copyOf(int[] minutes) {
+        if (minutes == null) return NO_OVERTIME;
+        if (minutes.length > MAX_DAYS) throw new IllegalArgumentException("Maksimal " + MAX_DAYS + " hari.");
+        int[] copy = new int[MAX_DAYS];
+        System.arraycopy(minutes, 0, copy, 0, minutes.length);
+        return copy;
+    }
+}
@@ -1,11 +1,11 @@
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 
 /**
  * PayrollPanel - Multi-threaded Version (SwingWorker).
@@ -13,7 +13,7 @@ import javax.swing.table.DefaultTableModel;
  * - [UPDATED] Fitur Sort ID/Nama di atas tabel (Default ID).
  * - Filter tombol lebar (Navy) di panel kiri.
  */
-public class PayrollPanel extends JPanel {
+public class PayrollPanel extends JPanel implements ManagedView {
     private JComboBox<Integer> yearBox;
     private JComboBox<Integer> monthBox;
     private JComboBox<String> typeCombo;
@@ -22,12 +22,18 @@ public class PayrollPanel extends JPanel {
     private JLabel golLbl;
     private JComboBox<String> sortBox; // [BARU] Dropdown Sort
     
-    private DefaultTableModel model;
+    private RowTableModel<Line> model;
+    private RowView<Line> view;
+    private RowPager<Line, EmployeeQuery.Cursor> pager;
+    // TRUE: semua baris periode ini sudah di model -> filter & sort di sisi klien; FALSE: paging di SQL; null: belum tahu
+    private Boolean baseComplete;
+    private JLabel loadStatusLabel;
+    private PanelLoader loader;
     private JLabel totalAllLabel;
     private JButton payBtn; 
     
     private final PayrollService payrollService = new PayrollService();
-    private final EmployeeRepository empRepo = new EmployeeRepository();
+    private final PayrollRepository empRepo = Repositories.get();
 
     private boolean isInitializing = true;
     private String currentAdminName = "admin"; 
@@ -44,14 +50,7 @@ public class PayrollPanel extends JPanel {
         gbc.weighty = 1.0; 
 
         // --- LEFT CARD (FILTER) ---
-        JPanel leftCard = new JPanel(new GridBagLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_payroll_filter.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel leftCard = new BackgroundPanel(new GridBagLayout(), "assets/img/bg_payroll_filter.png");
         UIConstants.styleCardPanel(leftCard);
         
         JPanel formPanel = new JPanel(new GridBagLayout());
@@ -109,7 +108,7 @@ public class PayrollPanel extends JPanel {
         fc.gridx = 1; fc.weightx = 1.0;
         searchNameField = new JTextField();
         try { UIConstants.styleTextField(searchNameField); } catch (Exception ignored) { searchNameField.setFont(UIConstants.BODY_FONT); }
-        searchNameField.addActionListener(e -> { if (!isInitializing) loadPayroll(); }); 
+        searchNameField.addActionListener(e -> { if (!isInitializing) applyView(); }); 
         formPanel.add(searchNameField, fc);
         row++;
 
@@ -120,7 +119,7 @@ public class PayrollPanel extends JPanel {
         fc.gridx = 1; fc.weightx = 1.0;
         typeCombo = new JComboBox<>(new String[]{"All", "FULLTIME", "PARTTIME"});
         typeCombo.setFont(UIConstants.BODY_FONT);
-        typeCombo.addActionListener(e -> { if (!isInitializing) { updateFilterVisibility(); loadPayroll(); } });
+        typeCombo.addActionListener(e -> { if (!isInitializing) { updateFilterVisibility(); applyView(); } });
         formPanel.add(typeCombo, fc);
         row++;
 
@@ -131,7 +130,7 @@ public class PayrollPanel extends JPanel {
         fc.gridx = 1; fc.weightx = 1.0;
         golonganCombo = new JComboBox<>(new String[]{"All", "1", "2", "3", "4"});
         golonganCombo.setFont(UIConstants.BODY_FONT);
-        golonganCombo.addActionListener(e -> { if (!isInitializing) loadPayroll(); });
+        golonganCombo.addActionListener(e -> { if (!isInitializing) applyView(); });
         formPanel.add(golonganCombo, fc);
         row++;
 
@@ -145,7 +144,7 @@ public class PayrollPanel extends JPanel {
         UIConstants.stylePrimaryButton(filterBtn);
         filterBtn.setBackground(UIConstants.NAVY);
         filterBtn.setFont(UIConstants.BOLD_BODY_FONT.deriveFont(12f));
-        filterBtn.addActionListener(e -> loadPayroll());
+        filterBtn.addActionListener(e -> applyView());
         
         formPanel.add(filterBtn, fc);
         
@@ -160,14 +159,7 @@ public class PayrollPanel extends JPanel {
         main.add(leftCard, gbc);
 
         // --- RIGHT CARD (TABLE) ---
-        JPanel rightCard = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_table.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel rightCard = new BackgroundPanel(new BorderLayout(), "assets/img/bg_table.png");
         UIConstants.styleCardPanel(rightCard);
         
         // --- [UPDATED] Header Panel (Title + Sort) ---
@@ -179,6 +171,14 @@ public class PayrollPanel extends JPanel {
         tableHeader.setFont(UIConstants.BOLD_BODY_FONT);
         headerPanel.add(tableHeader, BorderLayout.WEST);
 
+        // [BARU] Status loading (progres baris)
+        loadStatusLabel = new JLabel(" ");
+        UIConstants.applyBodyLabel(loadStatusLabel);
+        loadStatusLabel.setForeground(UIConstants.GRAY);
+        loadStatusLabel.setBorder(BorderFactory.createEmptyBorder(0, 15, 0, 0));
+        headerPanel.add(loadStatusLabel, BorderLayout.CENTER);
+        loader = new PanelLoader(this, loadStatusLabel, "Error load data: ");
+
         // Sort Control
         JPanel sortPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
         sortPanel.setOpaque(false);
@@ -188,19 +188,18 @@ public class PayrollPanel extends JPanel {
 
         sortBox = new JComboBox<>(new String[]{"ID", "Nama"});
         sortBox.setFont(UIConstants.BODY_FONT);
-        // Trigger reload (sorting happens in populateTable)
-        sortBox.addActionListener(e -> { if (!isInitializing) loadPayroll(); });
+        // [UPDATED] Sort di sisi klien (RowView), tanpa query ulang
+        sortBox.addActionListener(e -> { if (!isInitializing) applyView(); });
         sortPanel.add(sortBox);
 
         headerPanel.add(sortPanel, BorderLayout.EAST);
         rightCard.add(headerPanel, BorderLayout.NORTH);
 
         // Table
-        model = new DefaultTableModel(new String[]{"ID", "Nama", "Tipe", "Gol", "Base", "Overtime", "Hari", "Rate", "Total"}, 0) {
-            @Override public boolean isCellEditable(int row, int col) { return false; }
-        };
+        model = createModel();
         JTable table = new JTable(model);
         UIConstants.styleTable(table);
+        view = new RowView<>(table, model);
         
         table.setOpaque(false);
         ((DefaultTableCellRenderer)table.getDefaultRenderer(Object.class)).setOpaque(false);
@@ -208,6 +207,7 @@ public class PayrollPanel extends JPanel {
 
         table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS); 
         UIConstants.setColumnWidths(table, 40, 150, 70, 40, 90, 80, 50, 80, 100);
+        UIConstants.applyRupiahRenderer(table, SwingConstants.LEADING, 4, 5, 7, 8);
         table.setRowHeight(UIConstants.TABLE_ROW_HEIGHT);
         table.setFillsViewportHeight(true);
         
@@ -216,6 +216,7 @@ public class PayrollPanel extends JPanel {
         sc.setOpaque(false); sc.getViewport().setOpaque(false);
         
         rightCard.add(sc, BorderLayout.CENTER);
+        pager = new RowPager<>(sc, model, loader, this::updateTotal);
 
         gbc.gridx = 1; gbc.gridy = 0; gbc.weightx = 0.75; 
         gbc.insets = new Insets(0, 0, 0, 0);
@@ -251,6 +252,19 @@ public class PayrollPanel extends JPanel {
         loadPayroll();
     }
     
+    // [BARU] ManagedView: panel dipakai ulang oleh LandingPanel (ViewRegistry), dimuat ulang hanya jika datanya basi
+    @Override
+    public void onActivate(boolean stale) {
+        if (stale) loadPayroll();
+    }
+
+    @Override
+    public boolean onDeactivate() {
+        if (!loader.isLoading()) return false;
+        loader.cancel();
+        return true;
+    }
+
     public void setCurrentAdminName(String adminName) {
         this.currentAdminName = adminName;
     }
@@ -265,103 +279,127 @@ public class PayrollPanel extends JPanel {
         }
     }
 
-    // --- SWING WORKER IMPLEMENTATION FOR LOADING DATA ---
+    // --- [UPDATED] LOADING DATA: PanelLoader + RowPager (per halaman, background, abaikan hasil request lama) ---
+    // Periode berubah / setelah bayar: mulai lagi dari dataset dasar periode tsb
     private void loadPayroll() {
         if (yearBox.getSelectedItem() == null || monthBox.getSelectedItem() == null) return;
-        
+        baseComplete = null;
+        applyView();
+    }
+
+    /**
+     * [UPDATED] Terapkan filter (tipe, golongan, awalan nama) + sort.
+     * - Dataset periode muat dalam satu halaman: di sisi klien (RowView), tanpa query.
+     * - Tenant besar: filter & urutan dikirim ke SQL, halaman berikutnya dimuat saat scroll (RowPager).
+     */
+    private void applyView() {
         int year = (int) yearBox.getSelectedItem();
         int month = (int) monthBox.getSelectedItem();
+        EmployeeQuery query = currentQuery(year, month);
+
+        if (Boolean.TRUE.equals(baseComplete)) {
+            view.apply(query.sort == EmployeeQuery.Sort.NAME ? BY_NAME : BY_ID, l -> matches(query, l));
+            updateTotal();
+            return;
+        }
 
-        // 1. UI Preparation (EDT)
-        model.setRowCount(0);
+        view.apply(null, null); // Urutan & filter dari SQL
         totalAllLabel.setText("Total Gaji: " + UIConstants.formatRupiah(0));
-        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR)); 
+        if (baseComplete == null) {
+            // Halaman pertama dataset dasar (belum PAID, aktif) menentukan mode
+            EmployeeQuery base = EmployeeQuery.all().withActive(true).unpaidIn(year, month).sortedBy(query.sort);
+            pager.start(baseSource(year, month, base), () -> {
+                baseComplete = pager.isComplete();
+                if (baseComplete || query.hasUserFilter()) applyView();
+            });
+        } else {
+            pager.start(source(year, month, query), null);
+        }
+    }
 
-        // 2. Background Task
-        SwingWorker<List<PayrollService.PayrollRow>, Void> worker = new SwingWorker<>() {
-            private double partTimeRate = 0;
+    // Filter yang dipilih user + syarat dasar panel (aktif, belum PAID pada periode tsb)
+    private EmployeeQuery currentQuery(int year, int month) {
+        String golFilter = (String) golonganCombo.getSelectedItem();
+        return EmployeeQuery.all()
+                .withActive(true)
+                .unpaidIn(year, month)
+                .withType((String) typeCombo.getSelectedItem())
+                .withGolongan("All".equals(golFilter) ? null : Integer.valueOf(golFilter))
+                .withNamePrefix(searchNameField.getText())
+                .sortedBy("Nama".equals(sortBox.getSelectedItem()) ? EmployeeQuery.Sort.NAME : EmployeeQuery.Sort.ID);
+    }
 
-            @Override
-            protected List<PayrollService.PayrollRow> doInBackground() throws Exception {
-                // Proses Berat: Koneksi DB dan Kalkulasi Gaji
-                partTimeRate = empRepo.getPartTimeDailyRate();
-                return payrollService.calculateAll(year, month);
-            }
+    // Sama seperti EmployeeQuery.matches, untuk baris yang sudah dimuat
+    private static boolean matches(EmployeeQuery q, Line l) {
+        if (q.type != null && !q.type.equalsIgnoreCase(l.type)) return false;
+        if (q.golongan != null && !q.golongan.equals(l.golongan)) return false;
+        return q.namePrefix == null || l.name.regionMatches(true, 0, q.namePrefix, 0, q.namePrefix.length());
+    }
 
-            @Override
-            protected void done() {
-                // 3. UI Update (EDT)
-                try {
-                    List<PayrollService.PayrollRow> rows = get(); 
-                    populateTable(rows, partTimeRate, year, month);
-                } catch (InterruptedException | ExecutionException e) {
-                    JOptionPane.showMessageDialog(PayrollPanel.this, "Error load data: " + e.getMessage());
-                    e.printStackTrace();
-                } finally {
-                    setCursor(Cursor.getDefaultCursor()); 
-                }
+    /**
+     * Dataset dasar periode. Tenant kecil (karyawan aktif <= PAGE_SIZE): satu bulan penuh lewat calculateAll,
+     * jadi tetap memakai PayrollResultCache / PaidSnapshotStore (ganti bulan bolak-balik tanpa hitung ulang).
+     * Tenant besar: halaman pertama lewat calculatePage.
+     */
+    private RowPager.Source<Line, EmployeeQuery.Cursor> baseSource(int year, int month, EmployeeQuery base) {
+        RowPager.Source<Line, EmployeeQuery.Cursor> paged = source(year, month, base);
+        return after -> {
+            if (after == null && empRepo.countAll() <= RowPager.PAGE_SIZE) {
+                return new RowPager.Page<>(buildLines(payrollService.calculateAll(year, month), empRepo.getPartTimeDailyRate()), null);
             }
+            return paged.fetch(after);
         };
+    }
 
-        worker.execute(); 
+    // Proses Berat (background): SQL satu halaman + kalkulasi gaji halaman tsb (tanpa cache, hanya tenant besar)
+    private RowPager.Source<Line, EmployeeQuery.Cursor> source(int year, int month, EmployeeQuery query) {
+        return after -> {
+            PayrollService.PayrollPage page = payrollService.calculatePage(year, month, query, after, RowPager.PAGE_SIZE);
+            return new RowPager.Page<>(buildLines(page.rows, empRepo.getPartTimeDailyRate()), page.next);
+        };
     }
 
-    private void populateTable(List<PayrollService.PayrollRow> rows, double partTimeRate, int year, int month) {
-        String typeFilter = (String) typeCombo.getSelectedItem();
-        String golFilter = (String) golonganCombo.getSelectedItem();
-        String searchKeyword = searchNameField.getText().trim().toLowerCase();
-        
-        // [BARU] Sort Logic
-        String sortMode = (String) sortBox.getSelectedItem();
-        if ("Nama".equals(sortMode)) {
-            rows.sort(Comparator.comparing(r -> r.name, String::compareToIgnoreCase));
-        } else {
-            rows.sort(Comparator.comparingInt(r -> r.id));
-        }
-        
-        long totalPendingDisplayed = 0L;
+    private static List<Line> buildLines(List<PayrollService.PayrollRow> rows, double partTimeRate) {
+        List<Line> lines = new ArrayList<>();
+        long rate = Math.round(partTimeRate);
 
+        // Tanpa I/O: status & golongan sudah ikut dimuat (PayrollRow); urutan tetap seperti hasil SQL
         for (PayrollService.PayrollRow r : rows) {
-            String status = payrollService.getPayrollStatus(r.id, year, month);
-            if ("PAID".equalsIgnoreCase(status)) continue; 
+            if (r.isPaid()) continue; 
 
             if (r.total <= 0) continue;
 
-            Integer gol = payrollService.getGolonganForEmployee(r.id);
-            
-            // Logic Filter
-            boolean okType = typeFilter.equals("All") || r.type.equalsIgnoreCase(typeFilter);
-            boolean okGol = golFilter.equals("All") || (gol != null && String.valueOf(gol).equals(golFilter));
-            boolean okName = searchKeyword.isEmpty() || r.name.toLowerCase().contains(searchKeyword);
-
-            if (okType && okGol && okName) {
-                long totalRounded = Math.round(r.total);
-                String hariStr = "-";
-                String rateStr = "-";
-                
-                if ("PARTTIME".equalsIgnoreCase(r.type)) {
-                    hariStr = String.valueOf(r.daysWorked);
-                    rateStr = UIConstants.formatRupiah(partTimeRate);
-                }
-                
-                model.addRow(new Object[]{
-                        r.id, r.name, r.type, (gol == null ? "-" : gol),
-                        UIConstants.formatRupiah(r.base), 
-                        UIConstants.formatRupiah(r.overtime),
-                        hariStr, rateStr, 
-                        UIConstants.formatRupiah(totalRounded)
-                });
-                
-                totalPendingDisplayed += totalRounded;
-            }
+            boolean partTime = "PARTTIME".equalsIgnoreCase(r.type);
+            lines.add(new Line(
+                    r.id, r.name, r.type, r.golongan,
+                    Math.round(r.base), Math.round(r.overtime),
+                    partTime ? r.daysWorked : -1, partTime ? rate : -1L,
+                    Math.round(r.total)));
         }
-        totalAllLabel.setText("Total Gaji: " + UIConstants.formatRupiah(totalPendingDisplayed));
+        return lines;
+    }
+
+    // Total baris yang tampil; selama masih ada halaman yang belum dimuat, ditandai "sebagian"
+    private void updateTotal() {
+        long totalPendingDisplayed = 0L;
+        for (Line l : view.getVisibleRows()) totalPendingDisplayed += l.total;
+        String label = pager.isComplete() ? "Total Gaji: " : "Total Gaji (sebagian): ";
+        totalAllLabel.setText(label + UIConstants.formatRupiah(totalPendingDisplayed));
     }
 
     // --- SWING WORKER IMPLEMENTATION FOR PAYING ---
     private void confirmAndPayVisible() {
-        int rowCount = model.getRowCount();
-        if (rowCount == 0) {
+        if (loader.isLoading()) {
+            JOptionPane.showMessageDialog(this, "Data masih dimuat, tunggu sebentar."); return;
+        }
+        // Tenant besar: pastikan semua halaman yang cocok filter sudah dimuat sebelum konfirmasi
+        if (!pager.isComplete()) {
+            pager.loadRemaining(this::confirmAndPayVisible);
+            return;
+        }
+        // Yang dibayar = baris yang tampil (setelah filter)
+        List<Line> visible = view.getVisibleRows();
+        if (visible.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Tidak ada data gaji yang perlu dibayar (Total > 0)."); return;
         }
         
@@ -371,14 +409,10 @@ public class PayrollPanel extends JPanel {
         long totalToPay = 0L;
         List<Integer> idsToPay = new ArrayList<>();
         
-        for (int i = 0; i < rowCount; i++) {
-            int id = (int) model.getValueAt(i, 0);
-            String totalStr = (String) model.getValueAt(i, 8);
-            String raw = totalStr.replaceAll("[^0-9]", ""); 
-            long t = 0;
-            if (!raw.isEmpty()) t = Long.parseLong(raw);
-            totalToPay += t;
-            idsToPay.add(id);
+        // Angka dibaca langsung dari model (tanpa parse ulang teks Rupiah)
+        for (Line line : visible) {
+            totalToPay += line.total;
+            idsToPay.add(line.id);
         }
         
         String msg = "Bayar " + idsToPay.size() + " karyawan aktif?\nTotal: " + UIConstants.formatRupiah(totalToPay);
@@ -415,4 +449,44 @@ public class PayrollPanel extends JPanel {
             worker.execute(); 
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * [BARU] Satu baris tabel (immutable): nilai uang sebagai long rupiah, hari sebagai int.
+     * days / rate = -1 jika tidak berlaku (Full-Time). Format Rupiah dilakukan RupiahRenderer saat tampil.
+     */
+    private static final class Line {
+        final int id;
+        final String name;
+        final String type;
+        final Integer golongan;
+        final long base;
+        final long overtime;
+        final int days;
+        final long rate;
+        final long total;
+        final String nameKey; // Kunci sort (lowercase), dihitung sekali
+
+        Line(int id, String name, String type, Integer golongan, long base, long overtime, int days, long rate, long total) {
+            this.id = id; this.name = name; this.type = type; this.golongan = golongan;
+            this.base = base; this.overtime = overtime; this.days = days; this.rate = rate; this.total = total;
+            this.nameKey = name.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final Function<Line, Integer> BY_ID = l -> l.id;
+    private static final Function<Line, String> BY_NAME = l -> l.nameKey;
+
+    private static RowTableModel<Line> createModel() {
+        return new RowTableModel<>(
+            RowTableModel.column("ID", l -> l.id),
+            RowTableModel.column("Nama", l -> l.name),
+            RowTableModel.column("Tipe", l -> l.type),
+            RowTableModel.column("Gol", l -> (l.golongan == null) ? "-" : l.golongan),
+            RowTableModel.column("Base", l -> l.base),
+            RowTableModel.column("Overtime", l -> l.overtime),
+            RowTableModel.column("Hari", l -> (l.days < 0) ? "-" : l.days),
+            RowTableModel.column("Rate", l -> (l.rate < 0) ? null : l.rate),
+            RowTableModel.column("Total", l -> l.total)
+        );
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * PayrollRecord - Satu baris tabel payrolls (karyawan + periode) seperti yang tersimpan.
+ * Dipakai PayrollService untuk cek status & snapshot (lihat PayrollRepository.findPayrollsForMonth).
+ */
+public class PayrollRecord {
+    public final long id;
+    public final int employeeId;
+    // PAID / PENDING
+    public final String status;
+    // Snapshot tipe & golongan saat dibayar (null jika belum PAID / data lama)
+    public final String snapType;
+    public final Integer snapGol;
+    public final double base;
+    public final double overtime;
+    public final double total;
+
+    public PayrollRecord(long id, int employeeId, String status, String snapType, Integer snapGol,
+                         double base, double overtime, double total) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.status = status;
+        this.snapType = snapType;
+        this.snapGol = snapGol;
+        this.base = base;
+        this.overtime = overtime;
+        this.total = total;
+    }
+
+    public boolean isPaid() { return "PAID".equalsIgnoreCase(status); }
+}
@@ -1,19 +1,91 @@
 import java.sql.Date;
 import java.sql.Time;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * PayrollRepository - Semua akses data aplikasi.
+ * Implementasi: EmployeeRepository (MySQL) dan InMemoryPayrollRepository (tanpa database).
+ * Pilih lewat Repositories.get() (-Dpayroll.repository=mysql|memory).
+ */
 public interface PayrollRepository {
-    
+
     // --- Metode Data Karyawan ---
     List<Employee> findAll();
-    Employee findById(int id); 
-    int countInactive(); 
+    Employee findById(int id);
+    // Nama persis (case-insensitive), urutan: aktif dulu, lalu nama
+    List<Employee> findByName(String name);
+    int countInactive();
     double getPartTimeDailyRate();
     int countAll();
     int countFullTime();
     int countPartTime();
-    
-    // --- Metode Lembur ---
+
+    int getNextEmployeeId() throws Exception;
+    int insertEmployee(int newId, String name, String type, Integer golongan) throws Exception;
+    void updateStatus(int id, boolean isActive) throws Exception;
+    void updateTypeAndGolongan(int id, String type, Integer golongan) throws Exception;
+    boolean hasFinancialHistory(int id) throws Exception;
+    void deletePermanently(int id) throws Exception;
+
+    // --- Metode Paging (keyset) ---
+    // Maksimal limit karyawan sesuai filter & urutan query, setelah cursor (null = halaman pertama).
+    // Exception jika database error: halaman pendek dibaca sebagai halaman terakhir, jadi tidak boleh hasil sebagian.
+    List<Employee> findEmployeesPage(EmployeeQuery query, EmployeeQuery.Cursor after, int limit) throws Exception;
+
+    // --- Metode Login ---
+    // @return username jika cocok, null jika salah. Exception jika database error.
+    String authenticate(String username, String password) throws Exception;
+
+    // --- Metode Dashboard ---
+    // Semua counter + total gaji PAID bulan tsb dalam satu query. null jika gagal.
+    DashboardStats getDashboardStats(int year, int month);
+
+    // --- Metode Lembur & Hari Kerja ---
     List<OvertimeEntry> findOvertimeEntriesForMonth(int employeeId, int year, int month);
+    // Insert/delete entri lembur sekaligus memperbarui overtime_monthly_summary dalam satu transaksi
     int insertOvertimeEntry(int employeeId, Date date, Time start, Time end);
-}
\ No newline at end of file
+    void deleteOvertimeEntry(int overtimeId) throws Exception;
+    void ensureWorkRecord(int empId, int year, int month) throws Exception;
+    void updateParttimeDays(int empId, int year, int month, int days) throws Exception;
+    // Bulan terakhir yang punya data lembur / work_records, null jika kosong
+    YearMonth findLatestDataMonth();
+
+    // --- Metode Bulk (satu query untuk semua karyawan dalam satu bulan) ---
+    // Exception jika database error (tidak pernah hasil sebagian: angka gaji dihitung & dibayar dari sini).
+    // employee_id -> menit lembur per tanggal (int[31], index 0 = tanggal 1), dari overtime_monthly_summary.
+    // Array selalu baru per panggilan dan tidak disimpan repository (dipakai langsung oleh PayrollInput.forEmployee).
+    Map<Integer, int[]> findOvertimeMinutesForMonth(int year, int month) throws Exception;
+    // employee_id -> ringkasan lembur bulan tsb (hanya karyawan yang punya menit lembur > 0)
+    Map<Integer, OvertimeSummary> findOvertimeSummariesForMonth(int year, int month) throws Exception;
+    Map<Integer, Integer> findPartTimeDaysForMonth(int year, int month) throws Exception;
+    // Sama seperti di atas, tapi hanya untuk karyawan tertentu (perhitungan per halaman)
+    Map<Integer, int[]> findOvertimeMinutesForEmployees(int year, int month, Collection<Integer> employeeIds) throws Exception;
+    Map<Integer, Integer> findPartTimeDaysForEmployees(int year, int month, Collection<Integer> employeeIds) throws Exception;
+
+    // --- Metode Payroll ---
+    // employee_id -> record payroll pada periode tsb
+    Map<Integer, PayrollRecord> findPayrollsForMonth(int year, int month) throws Exception;
+    Map<Integer, PayrollRecord> findPayrollsForEmployees(int year, int month, Collection<Integer> employeeIds) throws Exception;
+    // "PENDING" jika belum ada record
+    String findPayrollStatus(int empId, int year, int month);
+    // Upsert baris PENDING dalam satu transaksi. Baris yang sudah PAID tidak disentuh.
+    void savePendingPayrolls(int year, int month, List<PayrollService.PayrollRow> rows) throws Exception;
+    /**
+     * Satu transaksi: simpan pendingRows -> kunci payroll karyawan payees yang belum PAID
+     * -> set PAID + snapshot tipe/golongan dari payees -> catat payment_logs.
+     * @return Jumlah payroll yang dibayar.
+     */
+    int markPaid(int year, int month, List<PayrollService.PayrollRow> pendingRows, List<Employee> payees,
+                 String paidBy, String paymentMethod, String reference) throws Exception;
+    Map<Integer, PayrollService.ReportEntry> getReportEntries(int year, int month);
+    PayrollService.PaymentLogInfo findPaymentLog(int empId, int year, int month);
+    double getTotalPaidForMonth(int year, int month);
+
+    // Cache hasil calculateAll milik repository ini; di-invalidate oleh method tulis di atas
+    PayrollResultCache resultCache();
+    // Snapshot permanen bulan yang sudah lunas; hanya dibuang oleh koreksi admin / hapus permanen
+    PaidSnapshotStore paidSnapshots();
+}
@@ -0,0 +1,246 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PayrollResultCache - Cache hasil PayrollService.calculateAll per (tahun, bulan).
+ * - LRU dengan batas jumlah bulan (-Dpayroll.resultCache.months=24), bulan paling lama tidak dipakai dibuang.
+ * - Di-invalidate oleh method tulis repository, hanya untuk bulan / karyawan yang terdampak.
+ * - Perubahan satu karyawan pada satu bulan (lembur, hari Part-Time) hanya menandai baris karyawan itu;
+ *   pembacaan berikutnya menghitung ulang baris tsb saja lewat RowLoader, baris lain tetap dari cache.
+ * - Baris PAID memakai snapshot, jadi perubahan data karyawan tidak membuang bulan di mana baris karyawan itu sudah PAID.
+ * - TTL sebagai pengaman jika DB diubah dari luar aplikasi (-Dpayroll.resultCache.ttlMs=...).
+ * - Pemanggil selalu mendapat List baru (boleh diurutkan) berisi PayrollRow yang immutable.
+ * - dataVersion() naik pada setiap perubahan data, dipakai ViewRegistry untuk tahu panel mana yang perlu dimuat ulang.
+ */
+public class PayrollResultCache {
+
+    private static final int MAX_MONTHS = Integer.getInteger("payroll.resultCache.months", 24);
+    private static final long TTL_MS = Long.getLong("payroll.resultCache.ttlMs", 300_000L);
+
+    // Cache bersama untuk repository MySQL (data DB global, sama seperti EmployeeDirectory.shared())
+    private static final PayrollResultCache SHARED = new PayrollResultCache();
+
+    public static PayrollResultCache shared() {
+        return SHARED;
+    }
+
+    // Perhitungan satu bulan (dipanggil di luar lock). Harus melempar exception jika data gagal dimuat,
+    // bukan mengembalikan hasil sebagian.
+    public interface Loader {
+        List<PayrollService.PayrollRow> load() throws Exception;
+    }
+
+    // Hitung ulang baris karyawan tertentu pada bulan yang sama (dipanggil di luar lock)
+    public interface RowLoader {
+        List<PayrollService.PayrollRow> load(Set<Integer> employeeIds) throws Exception;
+    }
+
+    private static final class Entry {
+        final List<PayrollService.PayrollRow> rows;
+        final Set<Integer> employeeIds = new HashSet<>();
+        final Set<Integer> paidIds = new HashSet<>();
+        final Set<Integer> staleIds = new HashSet<>(); // baris yang harus dihitung ulang sebelum dipakai
+        final long loadedAt;
+
+        Entry(List<PayrollService.PayrollRow> rows) {
+            this(rows, System.currentTimeMillis());
+        }
+
+        Entry(List<PayrollService.PayrollRow> rows, long loadedAt) {
+            this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+            this.loadedAt = loadedAt;
+            for (PayrollService.PayrollRow r : rows) {
+                employeeIds.add(r.id);
+                if (r.isPaid()) paidIds.add(r.id);
+            }
+        }
+
+        /**
+         * Ganti baris ids dengan hasil hitung ulang (urutan tetap).
+         * @return null jika ada baris yang muncul / hilang (butuh hitung ulang satu bulan penuh).
+         */
+        Entry withRows(Set<Integer> ids, List<PayrollService.PayrollRow> refreshed) {
+            Map<Integer, PayrollService.PayrollRow> byId = new HashMap<>();
+            for (PayrollService.PayrollRow r : refreshed) byId.put(r.id, r);
+            for (int id : ids) {
+                if (employeeIds.contains(id) != byId.containsKey(id)) return null;
+            }
+            List<PayrollService.PayrollRow> merged = new ArrayList<>(rows.size());
+            for (PayrollService.PayrollRow r : rows) merged.add(ids.contains(r.id) ? byId.get(r.id) : r);
+            return new Entry(merged, loadedAt);
+        }
+    }
+
+    // accessOrder = true -> urutan LRU
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            return size() > MAX_MONTHS;
+        }
+    };
+
+    // Naik setiap kali bulan (atau semua bulan) di-invalidate; hasil hitung yang dimulai sebelumnya tidak disimpan
+    private final Map<Integer, Long> generations = new HashMap<>();
+    private long globalGeneration;
+    // Naik pada setiap hook perubahan data (apa pun yang terdampak)
+    private long dataVersion;
+
+    private long hits, misses;
+
+    /**
+     * Ambil baris bulan tsb dari cache, atau hitung lewat loader lalu simpan.
+     * Loader gagal: exception diteruskan ke pemanggil dan tidak ada yang disimpan (pemanggilan berikutnya mencoba lagi).
+     * Hasil kosong juga tidak disimpan: bisa berarti daftar karyawan belum berhasil dimuat (EmployeeDirectory).
+     */
+    public List<PayrollService.PayrollRow> get(int year, int month, Loader loader) throws Exception {
+        return get(year, month, loader, null);
+    }
+
+    /**
+     * Sama seperti get(year, month, loader); baris yang ditandai onEmployeeMonthChanged dihitung ulang
+     * lewat rowLoader saja (null = hitung ulang satu bulan penuh lewat loader).
+     */
+    public List<PayrollService.PayrollRow> get(int year, int month, Loader loader, RowLoader rowLoader) throws Exception {
+        int key = key(year, month);
+        long generation, global;
+        Entry cached = null;
+        Set<Integer> stale = null;
+        synchronized (this) {
+            Entry e = entries.get(key);
+            if (e != null && System.currentTimeMillis() - e.loadedAt < TTL_MS) {
+                if (e.staleIds.isEmpty()) {
+                    hits++;
+                    return new ArrayList<>(e.rows);
+                }
+                if (rowLoader != null) {
+                    cached = e;
+                    stale = new HashSet<>(e.staleIds);
+                } else {
+                    entries.remove(key);
+                }
+            } else if (e != null) {
+                entries.remove(key);
+            }
+            misses++;
+            generation = generations.getOrDefault(key, 0L);
+            global = globalGeneration;
+        }
+
+        if (cached != null) {
+            Entry refreshed = cached.withRows(stale, rowLoader.load(stale));
+            if (refreshed != null) {
+                synchronized (this) {
+                    // Tanda stale baru selama perhitungan -> entry lama tetap (dengan tandanya), hasil ini tidak disimpan
+                    if (entries.get(key) == cached && generations.getOrDefault(key, 0L) == generation && globalGeneration == global) {
+                        entries.put(key, refreshed);
+                    }
+                }
+                return new ArrayList<>(refreshed.rows);
+            }
+            synchronized (this) {
+                if (entries.get(key) == cached) entries.remove(key);
+            }
+        }
+
+        List<PayrollService.PayrollRow> rows = loader.load();
+
+        synchronized (this) {
+            // Jika ada perubahan selama perhitungan, hasil ini mungkin sudah basi -> jangan disimpan
+            if (!rows.isEmpty() && generations.getOrDefault(key, 0L) == generation && globalGeneration == global) {
+                entries.put(key, new Entry(rows));
+            }
+        }
+        return new ArrayList<>(rows);
+    }
+
+    // --- Invalidation (dipanggil oleh repository setelah tulis berhasil) ---
+
+    /**
+     * Data satu karyawan pada satu bulan berubah (lembur, hari kerja Part-Time).
+     * Hanya baris karyawan tsb yang ditandai; baris PAID (snapshot) tidak terpengaruh.
+     */
+    public synchronized void onEmployeeMonthChanged(int employeeId, int year, int month) {
+        dataVersion++;
+        int key = key(year, month);
+        // Hitungan satu bulan yang sedang berjalan mungkin sudah membaca data lama -> jangan disimpan
+        generations.merge(key, 1L, Long::sum);
+        Entry e = entries.get(key);
+        if (e != null && !e.paidIds.contains(employeeId)) e.staleIds.add(employeeId);
+    }
+
+    /**
+     * Banyak karyawan pada satu bulan berubah sekaligus (mis. pembayaran massal).
+     */
+    public synchronized void onMonthChanged(int year, int month) {
+        dataVersion++;
+        invalidateMonth(key(year, month));
+    }
+
+    /**
+     * Data karyawan berubah (insert, status, tipe/golongan): semua bulan terdampak,
+     * kecuali bulan di mana baris karyawan tsb sudah PAID (snapshot tidak berubah).
+     */
+    public synchronized void onEmployeeChanged(int employeeId) {
+        dataVersion++;
+        for (Iterator<Map.Entry<Integer, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Entry> e = it.next();
+            if (!e.getValue().paidIds.contains(employeeId)) it.remove();
+        }
+        globalGeneration++;
+    }
+
+    /**
+     * Karyawan dihapus permanen: buang bulan yang memuat karyawan tsb (termasuk baris PAID).
+     */
+    public synchronized void onEmployeeDeleted(int employeeId) {
+        dataVersion++;
+        for (Iterator<Map.Entry<Integer, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Entry> e = it.next();
+            if (e.getValue().employeeIds.contains(employeeId)) it.remove();
+        }
+        globalGeneration++;
+    }
+
+    /**
+     * Tarif / skala gaji berubah: semua bulan dihitung ulang.
+     */
+    public synchronized void invalidateAll() {
+        dataVersion++;
+        entries.clear();
+        globalGeneration++;
+    }
+
+    /**
+     * Versi data: berubah setiap kali method tulis repository memanggil salah satu hook di atas.
+     */
+    public synchronized long dataVersion() {
+        return dataVersion;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Untuk log / benchmark
+    public synchronized String stats() {
+        return "months=" + entries.size() + "/" + MAX_MONTHS + " hits=" + hits + " misses=" + misses;
+    }
+
+    // --- Internal ---
+
+    private void invalidateMonth(int key) {
+        generations.merge(key, 1L, Long::sum);
+        entries.remove(key);
+    }
+
+    private static int key(int year, int month) {
+        return year * 100 + month;
+    }
+}
@@ -1,12 +1,28 @@
-import java.sql.*;
+import java.sql.Timestamp;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * PayrollService - Core Logic (With Snapshot).
@@ -14,7 +30,16 @@ import java.util.Map;
  */
 public class PayrollService {
     
-    private final EmployeeRepository repo = new EmployeeRepository();
+    private final PayrollRepository repo;
+
+    public PayrollService() {
+        this(Repositories.get());
+    }
+
+    // Repository eksplisit (mis. InMemoryPayrollRepository untuk benchmark)
+    public PayrollService(PayrollRepository repo) {
+        this.repo = repo;
+    }
 
     // DTO untuk baris tabel perhitungan (Update: tambah field golongan)
     public static class PayrollRow {
@@ -26,8 +51,13 @@ public class PayrollService {
         public final double overtime;
         public final int daysWorked; 
         public final double total;
+        public final String status; // [BARU] Status payroll bulan tsb (PAID/PENDING), dari fetchExistingPayrolls
 
         public PayrollRow(int id, String name, String type, Integer golongan, double base, double overtime, int daysWorked, double total) {
+            this(id, name, type, golongan, base, overtime, daysWorked, total, "PENDING");
+        }
+
+        public PayrollRow(int id, String name, String type, Integer golongan, double base, double overtime, int daysWorked, double total, String status) {
             this.id = id; 
             this.name = name; 
             this.type = type; 
@@ -36,24 +66,10 @@ public class PayrollService {
             this.overtime = overtime; 
             this.daysWorked = daysWorked;
             this.total = total;
+            this.status = status;
         }
-    }
 
-    // Helper class untuk menampung data DB yang sudah ada
-    private static class ExistingData {
-        String status;
-        String snapType;
-        Integer snapGol;
-        double base, overtime, total;
-        
-        public ExistingData(String status, String snapType, Integer snapGol, double base, double overtime, double total) {
-            this.status = status; 
-            this.snapType = snapType; 
-            this.snapGol = snapGol;
-            this.base = base; 
-            this.overtime = overtime; 
-            this.total = total;
-        }
+        public boolean isPaid() { return "PAID".equalsIgnoreCase(status); }
     }
 
     public static class PaymentLogInfo {
@@ -65,7 +81,47 @@ public class PayrollService {
         }
     }
 
-    private int countBusinessDays(int year, int month) {
+    // [BARU] Read model untuk ReportPanel: status payroll + status karyawan + info pembayaran
+    public static class ReportEntry {
+        public final int employeeId;
+        public final String status;   // PAID / PENDING (default PENDING jika belum ada record)
+        public final boolean active;
+        public final String paidBy;   // "-" jika belum dibayar
+        public final String paidAt;   // "-" jika belum dibayar
+
+        public ReportEntry(int employeeId, String status, boolean active, String paidBy, String paidAt) {
+            this.employeeId = employeeId;
+            this.status = status;
+            this.active = active;
+            this.paidBy = paidBy;
+            this.paidAt = paidAt;
+        }
+
+        public boolean isPaid() { return "PAID".equalsIgnoreCase(status); }
+    }
+
+    /**
+     * [BARU] Satu halaman hasil calculatePage.
+     * next = posisi karyawan terakhir yang diproses (null jika sudah halaman terakhir).
+     */
+    public static class PayrollPage {
+        public final List<PayrollRow> rows;
+        public final EmployeeQuery.Cursor next;
+
+        public PayrollPage(List<PayrollRow> rows, EmployeeQuery.Cursor next) {
+            this.rows = rows;
+            this.next = next;
+        }
+    }
+
+    private static final DateTimeFormatter PAID_AT_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm");
+
+    // Format waktu bayar untuk tampilan ("-" jika kosong)
+    static String formatPaidAt(Timestamp ts) {
+        return (ts != null) ? ts.toLocalDateTime().format(PAID_AT_FORMAT) : "-";
+    }
+
+    static int countBusinessDays(int year, int month) {
         YearMonth ym = YearMonth.of(year, month);
         int days = 0;
         for (int d = 1; d <= ym.lengthOfMonth(); d++) {
@@ -76,256 +132,446 @@ public class PayrollService {
         return days;
     }
 
+    // Data satu bulan yang dimuat sekaligus (bulk), dipakai untuk hitung semua karyawan di memori
+    private static class MonthData {
+        final int standardWorkDays;
+        final double partTimeRate;
+        final int weekendMask;
+        final Map<Integer, int[]> overtimeMinutesByEmployee;
+        final Map<Integer, Integer> partTimeDaysByEmployee;
+
+        MonthData(int standardWorkDays, double partTimeRate, int weekendMask,
+                  Map<Integer, int[]> overtimeMinutesByEmployee, Map<Integer, Integer> partTimeDaysByEmployee) {
+            this.standardWorkDays = standardWorkDays;
+            this.partTimeRate = partTimeRate;
+            this.weekendMask = weekendMask;
+            this.overtimeMinutesByEmployee = overtimeMinutesByEmployee;
+            this.partTimeDaysByEmployee = partTimeDaysByEmployee;
+        }
+
+        int partTimeDaysOf(int empId) {
+            return partTimeDaysByEmployee.getOrDefault(empId, 0);
+        }
+
+        PayrollInput inputFor(Employee e) {
+            return PayrollInput.forEmployee(e, overtimeMinutesByEmployee.get(e.getId()),
+                    weekendMask, partTimeDaysOf(e.getId()), partTimeRate);
+        }
+    }
+
+    // Jumlah query tetap per bulan (tidak bergantung jumlah karyawan)
+    private MonthData loadMonthData(int year, int month) throws Exception {
+        return await(loadMonthDataAsync(year, month, SAME_THREAD));
+    }
+
+    // Query bulk lembur + hari Part-Time, dijalankan di executor yang diberikan (bersamaan jika executor-nya pool)
+    private CompletableFuture<MonthData> loadMonthDataAsync(int year, int month, Executor io) {
+        CompletableFuture<Map<Integer, int[]>> overtime =
+                query(() -> repo.findOvertimeMinutesForMonth(year, month), io);
+        CompletableFuture<Map<Integer, Integer>> partTimeDays =
+                query(() -> repo.findPartTimeDaysForMonth(year, month), io);
+
+        return overtime.thenCombine(partTimeDays, (ot, days) -> new MonthData(
+            countBusinessDays(year, month),
+            repo.getPartTimeDailyRate(),
+            PayrollInput.weekendMask(year, month),
+            ot,
+            days
+        ));
+    }
+
+    // Hitung LIVE satu karyawan dari data bulan yang sudah dimuat
+    private static PayrollRow computeLiveRow(Employee e, MonthData data) {
+        return computeLiveRow(e, data, "PENDING");
+    }
+
+    private static PayrollRow computeLiveRow(Employee e, MonthData data, String status) {
+        double total = e.calculatePay(data.inputFor(e));
+        Employee.SalaryComponents comp = e.getSalaryComponents(total, data.standardWorkDays, data.partTimeRate);
+
+        return new PayrollRow(
+            e.getId(), e.getName(), 
+            e.getEmploymentType(), e.getGolongan(), // Pakai Data Live
+            comp.base, comp.overtime, comp.days, total, status
+        );
+    }
+
+    // --- MODE PARALEL ---
+    // -Dpayroll.calc.parallel=true          : calculateAll(year, month) memakai mode paralel
+    // -Dpayroll.calc.ioThreads=4            : thread untuk query bulk bersamaan (<= ukuran pool DB)
+    // -Dpayroll.calc.parallelism=<#core>    : worker fork/join untuk perhitungan tarif lembur
+    private static final boolean PARALLEL_DEFAULT = Boolean.getBoolean("payroll.calc.parallel");
+    // Di bawah jumlah ini perhitungan tetap di thread pemanggil (overhead fork/join tidak sebanding)
+    private static final int PARALLEL_LEAF_SIZE = Integer.getInteger("payroll.calc.leafSize", 512);
+
+    // Dibuat saat pertama kali mode paralel dipakai (holder idiom)
+    private static final class Parallel {
+        static final ExecutorService IO = Executors.newFixedThreadPool(
+                Integer.getInteger("payroll.calc.ioThreads", 4), daemonThreads("payroll-io"));
+        static final ForkJoinPool CPU = new ForkJoinPool(
+                Integer.getInteger("payroll.calc.parallelism", Runtime.getRuntime().availableProcessors()));
+
+        private static ThreadFactory daemonThreads(String prefix) {
+            AtomicInteger seq = new AtomicInteger();
+            return r -> {
+                Thread t = new Thread(r, prefix + "-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+        }
+    }
+
+    // Executor yang menjalankan task langsung di thread pemanggil (mode sekuensial)
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    // Query repository di executor io; exception query dibawa sebagai CompletionException
+    private static <T> CompletableFuture<T> query(Callable<T> q, Executor io) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return q.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, io);
+    }
+
+    // join() yang melempar exception asli query (mis. SQLException), bukan CompletionException
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+            throw e;
+        }
+    }
+
     /**
      * Menghitung gaji semua karyawan.
      * Jika status PAID, gunakan data SNAPSHOT (Frozen).
      * Jika status PENDING, hitung ulang (Live).
+     * Semua data dimuat dengan sejumlah query tetap, lalu dihitung di memori.
+     * [UPDATED] Hasil per bulan di-cache (PayrollResultCache); bolak-balik bulan / ganti urutan tidak menghitung ulang.
+     * [UPDATED] Bulan lampau yang seluruhnya PAID dibaca dari PaidSnapshotStore (tanpa query).
+     * List yang dikembalikan selalu baru, boleh diurutkan pemanggil.
      */
     public List<PayrollRow> calculateAll(int year, int month) throws Exception {
-        List<PayrollRow> rows = new ArrayList<>();
+        PaidSnapshotStore.MonthSnapshot snapshot = validPaidSnapshot(year, month, repo.findAll());
+        if (snapshot != null) {
+            List<PayrollRow> rows = new ArrayList<>(snapshot.rows.size());
+            for (PaidSnapshotStore.Row r : snapshot.rows) rows.add(r.payroll);
+            return rows;
+        }
+
+        List<PayrollRow> rows = repo.resultCache().get(year, month,
+                () -> calculateAll(year, month, PARALLEL_DEFAULT),
+                ids -> calculateForEmployees(year, month, ids));
+        rememberIfFullyPaid(year, month, rows);
+        return rows;
+    }
+
+    /**
+     * Snapshot bulan lunas yang masih mewakili bulan tsb: semua karyawan aktif ada di dalamnya.
+     * Karyawan aktif yang ditambahkan setelah bulan lunas akan muncul sebagai PENDING, jadi snapshot tidak dipakai.
+     */
+    private PaidSnapshotStore.MonthSnapshot validPaidSnapshot(int year, int month, List<Employee> employees) {
+        if (!PaidSnapshotStore.isClosedMonth(year, month)) return null;
+        PaidSnapshotStore.MonthSnapshot snapshot = repo.paidSnapshots().get(year, month);
+        if (snapshot == null) return null;
+        for (Employee e : employees) {
+            if (e.isActive() && !snapshot.contains(e.getId())) return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * [BARU] Koreksi admin: buang snapshot PAID + cache hasil bulan tsb, sehingga pembacaan berikutnya
+     * dihitung ulang dari database (mis. setelah baris PAID diperbaiki langsung di DB / file snapshot diedit).
+     */
+    public void reloadMonthFromDatabase(int year, int month) {
+        repo.paidSnapshots().evict(year, month);
+        repo.resultCache().onMonthChanged(year, month);
+    }
+
+    // Simpan snapshot jika bulan sudah lewat dan semua barisnya PAID (satu query tambahan untuk info pembayaran)
+    private void rememberIfFullyPaid(int year, int month, List<PayrollRow> rows) {
+        if (rows.isEmpty() || !PaidSnapshotStore.isClosedMonth(year, month)) return;
+        for (PayrollRow r : rows) if (!r.isPaid()) return;
+
+        Map<Integer, ReportEntry> entries = repo.getReportEntries(year, month);
+        List<PaidSnapshotStore.Row> frozen = new ArrayList<>(rows.size());
+        for (PayrollRow r : rows) {
+            ReportEntry entry = entries.get(r.id);
+            if (entry == null || !entry.isPaid()) return; // Berubah di antara dua query, coba lagi lain kali
+            frozen.add(new PaidSnapshotStore.Row(r, entry.paidBy, entry.paidAt));
+        }
+        repo.paidSnapshots().put(year, month, frozen);
+    }
+
+    /**
+     * Hitung langsung tanpa cache (dipakai cache loader, calculateYear, benchmark).
+     * @param parallel true: query bulk dijalankan bersamaan dan perhitungan dibagi ke ForkJoinPool.
+     *                 Urutan hasil selalu sama dengan mode sekuensial.
+     */
+    public List<PayrollRow> calculateAll(int year, int month, boolean parallel) throws Exception {
+        List<Employee> employees = repo.findAll();
+        return await(loadMonthAsync(year, month, parallel ? Parallel.IO : SAME_THREAD)
+                .thenApply(loaded -> buildRows(employees, loaded.existing, loaded.data, parallel)));
+    }
+
+    /**
+     * [BARU] Hitung satu halaman saja (keyset pagination) untuk tenant besar.
+     * Filter & urutan karyawan dijalankan di SQL (EmployeeQuery); payroll, lembur dan hari Part-Time
+     * hanya dimuat untuk id di halaman tsb. Jumlah query tetap per halaman, tidak bergantung jumlah karyawan.
+     * Tanpa cache: setiap halaman selalu dihitung dari data terbaru.
+     */
+    public PayrollPage calculatePage(int year, int month, EmployeeQuery query, EmployeeQuery.Cursor after, int limit) throws Exception {
+        // limit + 1: baris ekstra hanya untuk tahu apakah masih ada halaman berikutnya
+        List<Employee> employees = repo.findEmployeesPage(query, after, limit + 1);
+        boolean more = employees.size() > limit;
+        if (more) employees = new ArrayList<>(employees.subList(0, limit));
+        if (employees.isEmpty()) return new PayrollPage(new ArrayList<>(), null);
+
+        List<PayrollRow> rows = buildRowsFor(year, month, employees);
+        return new PayrollPage(rows, more ? EmployeeQuery.Cursor.after(employees.get(employees.size() - 1)) : null);
+    }
+
+    // [BARU] Hitung ulang baris karyawan tertentu saja (baris yang ditandai PayrollResultCache.onEmployeeMonthChanged)
+    private List<PayrollRow> calculateForEmployees(int year, int month, Set<Integer> empIds) throws Exception {
+        List<Employee> employees = new ArrayList<>(empIds.size());
+        for (Employee e : repo.findAll()) {
+            if (empIds.contains(e.getId())) employees.add(e);
+        }
+        if (employees.isEmpty()) return new ArrayList<>();
+        return buildRowsFor(year, month, employees);
+    }
+
+    // Payroll, lembur dan hari Part-Time hanya untuk employees (tiga query, tidak bergantung jumlah karyawan)
+    private List<PayrollRow> buildRowsFor(int year, int month, List<Employee> employees) throws Exception {
+        List<Integer> ids = new ArrayList<>(employees.size());
+        for (Employee e : employees) ids.add(e.getId());
+
+        MonthData data = new MonthData(
+            countBusinessDays(year, month),
+            repo.getPartTimeDailyRate(),
+            PayrollInput.weekendMask(year, month),
+            repo.findOvertimeMinutesForEmployees(year, month, ids),
+            repo.findPartTimeDaysForEmployees(year, month, ids)
+        );
+        return buildRows(employees, repo.findPayrollsForEmployees(year, month, ids), data, false);
+    }
+
+    /**
+     * Hitung ulang 12 bulan sekaligus (bulan -> baris, urut Januari..Desember).
+     * Mode paralel: data semua bulan dimuat bersamaan, perhitungan tiap bulan di ForkJoinPool.
+     */
+    public Map<Integer, List<PayrollRow>> calculateYear(int year, boolean parallel) throws Exception {
+        Map<Integer, List<PayrollRow>> out = new LinkedHashMap<>();
+        if (!parallel) {
+            for (int m = 1; m <= 12; m++) out.put(m, calculateAll(year, m, false));
+            return out;
+        }
+
         List<Employee> employees = repo.findAll();
-        int standardWorkDays = countBusinessDays(year, month);
-        double partTimeRate = repo.getPartTimeDailyRate();
+        List<CompletableFuture<List<PayrollRow>>> months = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            months.add(loadMonthAsync(year, m, Parallel.IO)
+                    .thenApplyAsync(loaded -> buildRows(employees, loaded.existing, loaded.data, true), Parallel.CPU));
+        }
+        for (int m = 1; m <= 12; m++) out.put(m, await(months.get(m - 1)));
+        return out;
+    }
 
-        // 1. Ambil data payroll yang sudah ada di DB untuk cek status & snapshot
-        Map<Integer, ExistingData> existingMap = fetchExistingPayrolls(year, month);
+    // Hasil muat satu bulan: payroll yang sudah ada + data perhitungan
+    private static class LoadedMonth {
+        final Map<Integer, PayrollRecord> existing;
+        final MonthData data;
+
+        LoadedMonth(Map<Integer, PayrollRecord> existing, MonthData data) {
+            this.existing = existing;
+            this.data = data;
+        }
+    }
+
+    // Payroll yang sudah ada + data perhitungan satu bulan
+    private CompletableFuture<LoadedMonth> loadMonthAsync(int year, int month, Executor io) {
+        return query(() -> repo.findPayrollsForMonth(year, month), io)
+                .thenCombine(loadMonthDataAsync(year, month, io), LoadedMonth::new);
+    }
 
-        try (Connection conn = DB.getConnection()) {
-            for (Employee e : employees) {
-                ExistingData exist = existingMap.get(e.getId());
+    /**
+     * Susun baris payroll sesuai urutan employees.
+     * Baris PAID diambil dari snapshot; baris LIVE dihitung (paralel jika diminta) ke slot index masing-masing,
+     * sehingga urutan hasil deterministik.
+     */
+    private List<PayrollRow> buildRows(List<Employee> employees, Map<Integer, PayrollRecord> existingMap,
+                                       MonthData data, boolean parallel) {
+        PayrollRow[] slots = new PayrollRow[employees.size()];
+        String[] liveStatus = new String[employees.size()]; // != null -> perlu dihitung live
+        int liveCount = 0;
+        int paidCount = 0;
+
+        for (int i = 0; i < employees.size(); i++) {
+            Employee e = employees.get(i);
+            PayrollRecord exist = existingMap.get(e.getId());
+            
+            // Jika karyawan tidak aktif DAN tidak punya record gaji bulan ini, skip
+            if (!e.isActive() && exist == null) continue;
+
+            if (exist != null && "PAID".equalsIgnoreCase(exist.status)) {
+                // --- KASUS PAID: GUNAKAN DATA BEKU (SNAPSHOT) ---
+                String effectiveType = (exist.snapType != null) ? exist.snapType : e.getEmploymentType();
+                Integer effectiveGol = (exist.snapGol != null) ? exist.snapGol : e.getGolongan();
                 
-                // Jika karyawan tidak aktif DAN tidak punya record gaji bulan ini, skip
-                if (!e.isActive() && exist == null) continue;
-
-                if (exist != null && "PAID".equalsIgnoreCase(exist.status)) {
-                    // --- KASUS PAID: GUNAKAN DATA BEKU (SNAPSHOT) ---
-                    String effectiveType = (exist.snapType != null) ? exist.snapType : e.getEmploymentType();
-                    Integer effectiveGol = (exist.snapGol != null) ? exist.snapGol : getGolonganNullable(conn, e.getId());
-                    
-                    // Display hari kerja (sekadar visual)
-                    int displayDays = standardWorkDays;
-                    if ("PARTTIME".equalsIgnoreCase(effectiveType)) {
-                        displayDays = getPartTimeDays(conn, e.getId(), year, month);
-                    }
-
-                    rows.add(new PayrollRow(
-                        e.getId(), e.getName(), 
-                        effectiveType, effectiveGol, // Pakai Snapshot
-                        exist.base, exist.overtime, displayDays, exist.total // Pakai Angka DB
-                    ));
-
-                } else {
-                    // --- KASUS PENDING: HITUNG LIVE ---
-                    if (!e.isActive()) continue; // Skip jika non-aktif dan belum dibayar
-
-                    double total = e.calculatePay(year, month, conn);
-                    Employee.SalaryComponents comp = e.getSalaryComponents(total, standardWorkDays, partTimeRate);
-                    
-                    Integer currentGol = getGolonganNullable(conn, e.getId());
-
-                    rows.add(new PayrollRow(
-                        e.getId(), e.getName(), 
-                        e.getEmploymentType(), currentGol, // Pakai Data Live
-                        comp.base, comp.overtime, comp.days, total
-                    ));
+                // Display hari kerja (sekadar visual)
+                int displayDays = data.standardWorkDays;
+                if ("PARTTIME".equalsIgnoreCase(effectiveType)) {
+                    displayDays = data.partTimeDaysOf(e.getId());
                 }
+
+                slots[i] = new PayrollRow(
+                    e.getId(), e.getName(), 
+                    effectiveType, effectiveGol, // Pakai Snapshot
+                    exist.base, exist.overtime, displayDays, exist.total, // Pakai Angka DB
+                    exist.status
+                );
+                paidCount++;
+
+            } else {
+                // --- KASUS PENDING: HITUNG LIVE ---
+                if (!e.isActive()) continue; // Skip jika non-aktif dan belum dibayar
+
+                liveStatus[i] = (exist != null && exist.status != null && !exist.status.isEmpty()) ? exist.status : "PENDING";
+                liveCount++;
             }
         }
+
+        LiveRowsTask live = new LiveRowsTask(employees, data, liveStatus, slots, 0, slots.length);
+        if (parallel && liveCount > PARALLEL_LEAF_SIZE) {
+            if (ForkJoinTask.inForkJoinPool()) live.invoke(); else Parallel.CPU.invoke(live);
+        } else {
+            live.computeDirectly();
+        }
+
+        List<PayrollRow> rows = new ArrayList<>(paidCount + liveCount);
+        for (PayrollRow r : slots) if (r != null) rows.add(r);
         return rows;
     }
 
-    // Mengambil data payroll yang ada di DB
-    private Map<Integer, ExistingData> fetchExistingPayrolls(int year, int month) {
-        Map<Integer, ExistingData> map = new HashMap<>();
-        String sql = "SELECT employee_id, status, snapshot_type, snapshot_golongan, base_salary, overtime_pay, total_salary FROM payrolls WHERE year=? AND month=?";
-        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, year); ps.setInt(2, month);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    int id = rs.getInt("employee_id");
-                    Integer sg = rs.getInt("snapshot_golongan");
-                    if (rs.wasNull()) sg = null;
-                    
-                    map.put(id, new ExistingData(
-                        rs.getString("status"),
-                        rs.getString("snapshot_type"),
-                        sg,
-                        rs.getDouble("base_salary"),
-                        rs.getDouble("overtime_pay"),
-                        rs.getDouble("total_salary")
-                    ));
-                }
+    // Hitung baris LIVE pada rentang index [from, to); dibelah dua sampai <= PARALLEL_LEAF_SIZE
+    private static class LiveRowsTask extends RecursiveAction {
+        private final List<Employee> employees;
+        private final MonthData data;
+        private final String[] liveStatus;
+        private final PayrollRow[] slots;
+        private final int from, to;
+
+        LiveRowsTask(List<Employee> employees, MonthData data, String[] liveStatus, PayrollRow[] slots, int from, int to) {
+            this.employees = employees;
+            this.data = data;
+            this.liveStatus = liveStatus;
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_LEAF_SIZE) {
+                computeDirectly();
+                return;
             }
-        } catch (Exception e) { e.printStackTrace(); }
-        return map;
+            int mid = (from + to) >>> 1;
+            invokeAll(new LiveRowsTask(employees, data, liveStatus, slots, from, mid),
+                      new LiveRowsTask(employees, data, liveStatus, slots, mid, to));
+        }
+
+        void computeDirectly() {
+            for (int i = from; i < to; i++) {
+                if (liveStatus[i] != null) slots[i] = computeLiveRow(employees.get(i), data, liveStatus[i]);
+            }
+        }
     }
 
     // Helper ambil data live untuk persiapan save
     public List<PayrollRow> buildAndSaveForEmployees(List<Integer> empIds, int year, int month) throws Exception {
         // Logic ini hanya untuk PENDING (sebelum bayar), jadi hitung live
-        List<PayrollRow> rows = new ArrayList<>();
-        List<Employee> employees = repo.findAll();
-        int standardWorkDays = countBusinessDays(year, month);
-        double partTimeRate = repo.getPartTimeDailyRate();
-        
-        try (Connection conn = DB.getConnection()) {
-            for (Employee e : employees) {
-                if (!empIds.contains(e.getId()) || !e.isActive()) continue;
-
-                double total = e.calculatePay(year, month, conn);
-                Employee.SalaryComponents comp = e.getSalaryComponents(total, standardWorkDays, partTimeRate);
-                Integer currentGol = getGolonganNullable(conn, e.getId());
-
-                rows.add(new PayrollRow(
-                    e.getId(), e.getName(), e.getEmploymentType(), currentGol,
-                    comp.base, comp.overtime, comp.days, total
-                ));
-            }
-        }
-        if (!rows.isEmpty()) savePendingRowsToDB(rows, year, month);
+        List<PayrollRow> rows = buildLiveRows(repo.findAll(), empIds, year, month);
+        repo.savePendingPayrolls(year, month, rows);
         return rows;
     }
 
-    private void savePendingRowsToDB(List<PayrollRow> rows, int year, int month) throws Exception {
-        String upsertSql = """
-            INSERT INTO payrolls(employee_id, year, month, base_salary, overtime_pay, total_salary, status)
-            VALUES (?, ?, ?, ?, ?, ?, 'PENDING')
-            ON DUPLICATE KEY UPDATE
-              base_salary = VALUES(base_salary),
-              overtime_pay = VALUES(overtime_pay),
-              total_salary = VALUES(total_salary),
-              status = 'PENDING', created_at = CURRENT_TIMESTAMP
-        """;
-        try (Connection conn = DB.getConnection()) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement ps = conn.prepareStatement(upsertSql)) {
-                for (PayrollRow r : rows) {
-                    ps.setInt(1, r.id); ps.setInt(2, year); ps.setInt(3, month);
-                    ps.setDouble(4, r.base); ps.setDouble(5, r.overtime); ps.setDouble(6, r.total);
-                    ps.addBatch();
-                }
-                ps.executeBatch();
-            }
-            conn.commit();
+    private List<PayrollRow> buildLiveRows(List<Employee> employees, List<Integer> empIds, int year, int month) throws Exception {
+        List<PayrollRow> rows = new ArrayList<>();
+        MonthData data = loadMonthData(year, month);
+        Set<Integer> wanted = new HashSet<>(empIds);
+        
+        for (Employee e : employees) {
+            if (!wanted.contains(e.getId()) || !e.isActive()) continue;
+            rows.add(computeLiveRow(e, data));
         }
+        return rows;
     }
 
     /**
      * Melakukan pembayaran.
      * UPDATE PENTING: Menyimpan Snapshot Type dan Golongan.
+     * Perhitungan PENDING dilakukan di memori dulu, lalu repository menyimpan + membayar dalam SATU transaksi.
      */
     public int paySelected(List<Integer> empIds, int year, int month, String paidBy, String paymentMethod, String reference) throws Exception {
         if (empIds == null || empIds.isEmpty()) return 0;
         
-        // Pastikan perhitungan PENDING sudah masuk DB
-        buildAndSaveForEmployees(empIds, year, month);
-
-        String updateSql = "UPDATE payrolls SET status='PAID', snapshot_type=?, snapshot_golongan=? WHERE id=?";
-        String logSql = "INSERT INTO payment_logs(payroll_id, paid_by, amount, payment_method, reference) VALUES (?, ?, ?, ?, ?)";
-        String selectSql = "SELECT id, total_salary, status FROM payrolls WHERE employee_id=? AND year=? AND month=? FOR UPDATE";
-
-        int count = 0;
-        try (Connection conn = DB.getConnection()) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement sel = conn.prepareStatement(selectSql);
-                 PreparedStatement up = conn.prepareStatement(updateSql);
-                 PreparedStatement ins = conn.prepareStatement(logSql)) {
-
-                for (Integer eid : empIds) {
-                    // Ambil data LIVE karyawan untuk dibekukan
-                    Employee curEmp = repo.findById(eid);
-                    Integer curGol = getGolonganNullable(conn, eid);
-
-                    sel.setInt(1, eid); sel.setInt(2, year); sel.setInt(3, month);
-                    try (ResultSet rs = sel.executeQuery()) {
-                        if (!rs.next()) continue;
-                        if ("PAID".equalsIgnoreCase(rs.getString("status"))) continue;
-                        
-                        long pid = rs.getLong("id");
-                        double amount = rs.getDouble("total_salary");
-
-                        // Update Status PAID + SIMPAN SNAPSHOT
-                        up.setString(1, curEmp.getEmploymentType());
-                        if (curGol == null) up.setNull(2, Types.INTEGER); else up.setInt(2, curGol);
-                        up.setLong(3, pid);
-                        up.executeUpdate();
-
-                        // Insert Log
-                        ins.setLong(1, pid); ins.setString(2, paidBy); ins.setDouble(3, amount);
-                        ins.setString(4, paymentMethod); ins.setString(5, reference);
-                        ins.executeUpdate();
-                        
-                        count++;
-                    }
-                }
-                conn.commit();
-            } catch (Exception e) { conn.rollback(); throw e; }
+        // Data LIVE karyawan (tipe & golongan untuk snapshot) dimuat sekali
+        List<Employee> employees = repo.findAll();
+        Set<Integer> wanted = new LinkedHashSet<>(empIds);
+        List<Employee> payees = new ArrayList<>();
+        for (Employee e : employees) {
+            if (wanted.contains(e.getId())) payees.add(e); // Karyawan yang sudah dihapus terlewati
         }
-        return count;
-    }
 
-    // --- Helpers ---
-    
-    private Integer getGolonganNullable(Connection conn, int empId) {
-        try (PreparedStatement ps = conn.prepareStatement("SELECT golongan FROM employees WHERE id=?")) {
-            ps.setInt(1, empId);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    int v = rs.getInt(1);
-                    return rs.wasNull() ? null : v;
-                }
-            }
-        } catch (Exception e) {}
-        return null;
+        // Hitung PENDING di memori sebelum transaksi dibuka (lock dipegang sesingkat mungkin)
+        List<PayrollRow> rows = buildLiveRows(employees, empIds, year, month);
+        return repo.markPaid(year, month, rows, payees, paidBy, paymentMethod, reference);
     }
 
-    private int getPartTimeDays(Connection conn, int empId, int year, int month) {
-        try (PreparedStatement ps = conn.prepareStatement("SELECT parttime_days FROM work_records WHERE employee_id=? AND year=? AND month=?")) {
-            ps.setInt(1, empId); ps.setInt(2, year); ps.setInt(3, month);
-            try(ResultSet rs = ps.executeQuery()){ if(rs.next()) return rs.getInt(1); }
-        } catch(Exception e){}
-        return 0;
-    }
+    // --- Helpers ---
 
     // Untuk ReportPanel ambil info log
     public PaymentLogInfo getPaymentLogInfo(int empId, int year, int month) {
-        String sql = """
-            SELECT pl.paid_by, pl.paid_at FROM payrolls p
-            JOIN payment_logs pl ON p.id = pl.payroll_id
-            WHERE p.employee_id=? AND p.year=? AND p.month=? AND p.status='PAID'
-        """;
-        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, empId); ps.setInt(2, year); ps.setInt(3, month);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    Timestamp ts = rs.getTimestamp("paid_at");
-                    String at = (ts != null) ? ts.toLocalDateTime().format(DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm")) : "-";
-                    return new PaymentLogInfo(rs.getString("paid_by"), at);
-                }
-            }
-        } catch (Exception e) { e.printStackTrace(); }
-        return null;
+        return repo.findPaymentLog(empId, year, month);
     }
     
+    /**
+     * [BARU] Satu query (JOIN) untuk seluruh data status laporan pada (year, month).
+     * Menggantikan getPayrollStatus + findById + getPaymentLogInfo per baris.
+     * @return Map employee_id -> ReportEntry untuk semua karyawan.
+     */
+    public Map<Integer, ReportEntry> getReportEntries(int year, int month) {
+        // [BARU] Bulan lunas: status & info bayar dari snapshot, status aktif dari data karyawan (memori)
+        List<Employee> employees = repo.findAll();
+        PaidSnapshotStore.MonthSnapshot snapshot = validPaidSnapshot(year, month, employees);
+        if (snapshot == null) return repo.getReportEntries(year, month);
+
+        Map<Integer, ReportEntry> out = new HashMap<>();
+        for (Employee e : employees) {
+            PaidSnapshotStore.Row r = snapshot.get(e.getId());
+            out.put(e.getId(), (r != null)
+                    ? new ReportEntry(e.getId(), "PAID", e.isActive(), r.paidBy, r.paidAt)
+                    : new ReportEntry(e.getId(), "PENDING", e.isActive(), "-", "-"));
+        }
+        return out;
+    }
+
     // Method lama tetap ada agar kompatibel jika ada yang panggil, tapi sebaiknya gunakan data dari PayrollRow
     public Integer getGolonganForEmployee(int empId) {
-        try (Connection conn = DB.getConnection()) { return getGolonganNullable(conn, empId); } 
-        catch (Exception e) { return null; }
+        Employee e = repo.findById(empId);
+        return e == null ? null : e.getGolongan();
     }
     
     public String getPayrollStatus(int empId, int year, int month) {
-        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement("SELECT status FROM payrolls WHERE employee_id=? AND year=? AND month=?")) {
-            ps.setInt(1, empId); ps.setInt(2, year); ps.setInt(3, month);
-            try (ResultSet rs = ps.executeQuery()) { if (rs.next()) return rs.getString(1); }
-        } catch (Exception e) {}
-        return "PENDING";
+        return repo.findPayrollStatus(empId, year, month);
     }
 
     public double getTotalPaidForMonth(int year, int month) {
-        try (Connection conn = DB.getConnection(); PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(SUM(total_salary),0) FROM payrolls WHERE year=? AND month=? AND status='PAID'")) {
-            ps.setInt(1, year); ps.setInt(2, month);
-            try (ResultSet rs = ps.executeQuery()) { if(rs.next()) return rs.getDouble(1); }
-        } catch(Exception e) {}
-        return 0;
+        return repo.getTotalPaidForMonth(year, month);
     }
-}
\ No newline at end of file
+}
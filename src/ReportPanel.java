@@ -1,25 +1,30 @@
 import java.awt.*;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Comparator; // Import Comparator
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader; 
 
-public class ReportPanel extends JPanel {
+public class ReportPanel extends JPanel implements ManagedView {
 
     private JComboBox<Integer> yearBox;
     private JComboBox<Integer> monthBox;
     private JComboBox<String> sortBox; // [BARU] Dropdown Sort
-    private DefaultTableModel model;
+    private RowTableModel<Line> model;
+    private RowView<Line> view;
+    private PanelLoader loader;
     
     private JLabel totalPaidLabel;
     private JLabel totalPendingLabel;
     private JLabel grandTotalLabel;
 
     private final PayrollService payrollService = new PayrollService();
-    private final EmployeeRepository employeeRepo = new EmployeeRepository(); 
+    private final PayrollRepository employeeRepo = Repositories.get(); 
     
     public ReportPanel() {
         setLayout(new BorderLayout());
@@ -27,14 +32,7 @@ public class ReportPanel extends JPanel {
         UIConstants.applyDefaultPadding(this);
 
         // --- Main Card dengan Background Image ---
-        JPanel mainCard = new JPanel(new BorderLayout()) {
-            private final Image bg = new ImageIcon("assets/img/bg_table.png").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (bg != null) g.drawImage(bg, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        JPanel mainCard = new BackgroundPanel(new BorderLayout(), "assets/img/bg_table.png");
         UIConstants.styleCardPanel(mainCard);
 
         // 1. FILTER AREA
@@ -76,19 +74,27 @@ public class ReportPanel extends JPanel {
         // Default ID (index 0)
         filterPanel.add(sortBox);
 
+        // [BARU] Koreksi admin: baca ulang bulan ini dari DB (abaikan snapshot PAID & cache)
+        JButton reloadBtn = new JButton("Muat Ulang dari DB");
+        UIConstants.styleSecondaryButton(reloadBtn);
+        reloadBtn.addActionListener(a -> reloadFromDatabase());
+        filterPanel.add(reloadBtn);
+
+        // [BARU] Status loading (progres baris)
+        JLabel loadStatusLabel = new JLabel(" ");
+        UIConstants.applyBodyLabel(loadStatusLabel);
+        loadStatusLabel.setForeground(UIConstants.GRAY);
+        filterPanel.add(loadStatusLabel);
+        loader = new PanelLoader(this, loadStatusLabel, "Error memuat laporan: ");
+
         mainCard.add(filterPanel, BorderLayout.NORTH);
 
         // 2. TABEL AREA (13 Kolom)
-        model = new DefaultTableModel(new String[]{
-            "ID", "Nama", "Status Karyawan", "Tipe", "Gol", 
-            "Gaji Pokok", "Lembur", "Hari Kerja", "Rate Harian", 
-            "Total Gaji", "Status Payroll", "Dibayar Oleh", "Waktu Bayar"
-        }, 0) {
-            @Override public boolean isCellEditable(int row, int col) { return false; }
-        };
+        model = createModel();
 
         JTable table = new JTable(model);
         UIConstants.styleTable(table);
+        view = new RowView<>(table, model);
         
         table.setOpaque(false); 
         ((DefaultTableCellRenderer)table.getDefaultRenderer(Object.class)).setOpaque(false);
@@ -106,20 +112,16 @@ public class ReportPanel extends JPanel {
         header.setPreferredSize(new Dimension(0, 35));
 
         // Renderer
-        DefaultTableCellRenderer rightRenderer = new DefaultTableCellRenderer();
-        rightRenderer.setHorizontalAlignment(JLabel.RIGHT);
-        rightRenderer.setOpaque(false);
-
         DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
         centerRenderer.setHorizontalAlignment(JLabel.CENTER);
         centerRenderer.setOpaque(false);
 
         // Assign Renderers
         int[] centerCols = {0, 2, 3, 4, 7, 11, 12};
-        int[] rightCols = {5, 6, 8, 9};
         
         for (int col : centerCols) table.getColumnModel().getColumn(col).setCellRenderer(centerRenderer);
-        for (int col : rightCols) table.getColumnModel().getColumn(col).setCellRenderer(rightRenderer);
+        // Kolom uang: angka mentah di model, diformat Rupiah saat digambar
+        UIConstants.applyRupiahRenderer(table, JLabel.RIGHT, 5, 6, 8, 9);
 
         // Custom Renderer Status (Kolom 10)
         table.getColumnModel().getColumn(10).setCellRenderer(new DefaultTableCellRenderer() {
@@ -190,96 +192,151 @@ public class ReportPanel extends JPanel {
 
         yearBox.addActionListener(a -> loadReport());
         monthBox.addActionListener(a -> loadReport());
-        sortBox.addActionListener(a -> loadReport()); // Add listener to sort
+        sortBox.addActionListener(a -> applySort()); // [UPDATED] Sort di sisi klien, tanpa query ulang
 
         SwingUtilities.invokeLater(this::loadReport);
     }
 
+    // [BARU] ManagedView: panel dipakai ulang oleh LandingPanel (ViewRegistry), dimuat ulang hanya jika datanya basi
+    @Override
+    public void onActivate(boolean stale) {
+        if (stale) loadReport();
+    }
+
+    @Override
+    public boolean onDeactivate() {
+        if (!loader.isLoading()) return false;
+        loader.cancel();
+        return true;
+    }
+
+    // [BARU] Setelah koreksi data PAID langsung di DB: buang snapshot & cache bulan terpilih lalu muat ulang
+    private void reloadFromDatabase() {
+        if (yearBox.getSelectedItem() == null || monthBox.getSelectedItem() == null) return;
+        int year = (int) yearBox.getSelectedItem();
+        int month = (int) monthBox.getSelectedItem();
+
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Buang snapshot & cache periode " + month + "/" + year + " lalu hitung ulang dari database?",
+                "Muat Ulang dari DB", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) return;
+
+        loader.load(() -> {
+            payrollService.reloadMonthFromDatabase(year, month);
+            return null;
+        }, v -> loadReport());
+    }
+
+    // [UPDATED] Query & kalkulasi di background lewat PanelLoader; request lama (ganti bulan cepat) diabaikan
     private void loadReport() {
-        model.setRowCount(0);
-        
         if (yearBox.getSelectedItem() == null || monthBox.getSelectedItem() == null) return;
         
         int year = (int) yearBox.getSelectedItem();
         int month = (int) monthBox.getSelectedItem();
-        
-        double sumPaid = 0.0;
-        double sumPending = 0.0;
-        
-        double partTimeRate = employeeRepo.getPartTimeDailyRate();
-
-        try {
-            List<PayrollService.PayrollRow> rows = payrollService.calculateAll(year, month);
-
-            // [BARU] Sorting Logic
-            String sortMode = (String) sortBox.getSelectedItem();
-            if ("Nama".equals(sortMode)) {
-                rows.sort((r1, r2) -> r1.name.compareToIgnoreCase(r2.name));
-            } else {
-                // Default ID
-                rows.sort(Comparator.comparingInt(r -> r.id));
-            }
 
-            for (PayrollService.PayrollRow r : rows) {
-                
-                String statusPayroll = payrollService.getPayrollStatus(r.id, year, month);
-                if (statusPayroll == null || statusPayroll.isEmpty()) statusPayroll = "PENDING";
-                
-                Employee e = employeeRepo.findById(r.id);
-                String statusKaryawan = (e != null && e.isActive()) ? "Aktif" : "Non-Aktif";
+        loader.loadRows(() -> {
+            double partTimeRate = employeeRepo.getPartTimeDailyRate();
+            Map<Integer, PayrollService.ReportEntry> entries = payrollService.getReportEntries(year, month);
+            return buildLines(payrollService.calculateAll(year, month), entries, partTimeRate);
+        }, model, this::renderTotals);
+    }
 
-                String displayType = r.type; 
-                String golDisplay = (r.golongan == null) ? "-" : String.valueOf(r.golongan);
+    // [BARU] Ubah urutan data yang sudah dimuat (RowView), total tidak berubah
+    private void applySort() {
+        view.apply("Nama".equals(sortBox.getSelectedItem()) ? BY_NAME : BY_ID, null);
+    }
 
-                String hariStr = "-";
-                String rateStr = "-";
+    private static List<Line> buildLines(List<PayrollService.PayrollRow> rows, Map<Integer, PayrollService.ReportEntry> entries,
+                                         double partTimeRate) {
+        List<Line> lines = new ArrayList<>(rows.size());
+        long rate = Math.round(partTimeRate);
 
-                if ("PARTTIME".equalsIgnoreCase(displayType)) {
-                    hariStr = String.valueOf(r.daysWorked);
-                    rateStr = UIConstants.formatRupiah(partTimeRate);
-                }
-                
-                String paidBy = "-";
-                String paidAt = "-";
-                
-                if ("PAID".equalsIgnoreCase(statusPayroll)) {
-                    PayrollService.PaymentLogInfo log = payrollService.getPaymentLogInfo(r.id, year, month);
-                    if (log != null) {
-                        paidBy = log.paidBy;
-                        paidAt = log.paidAt;
-                    }
-                }
+        // Urutan model = ID; urutan tampilan diatur RowView
+        rows.sort(Comparator.comparingInt(r -> r.id));
 
-                model.addRow(new Object[]{
-                        r.id, 
-                        r.name, 
-                        statusKaryawan, 
-                        displayType, 
-                        golDisplay, 
-                        UIConstants.formatRupiah(r.base), 
-                        UIConstants.formatRupiah(r.overtime), 
-                        hariStr, 
-                        rateStr, 
-                        UIConstants.formatRupiah(r.total), 
-                        statusPayroll, 
-                        paidBy,         
-                        paidAt          
-                });
-
-                if ("PAID".equalsIgnoreCase(statusPayroll)) {
-                    sumPaid += r.total;
-                } else {
-                    sumPending += r.total;
-                }
-            }
-            
-            totalPaidLabel.setText("Paid: " + UIConstants.formatRupiah(sumPaid));
-            totalPendingLabel.setText("Pending: " + UIConstants.formatRupiah(sumPending));
-            grandTotalLabel.setText("Total: " + UIConstants.formatRupiah(sumPaid + sumPending));
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error memuat laporan: " + e.getMessage());
-            e.printStackTrace();
+        for (PayrollService.PayrollRow r : rows) {
+            PayrollService.ReportEntry entry = entries.get(r.id);
+
+            String statusPayroll = (entry != null) ? entry.status : "PENDING";
+            String statusKaryawan = (entry != null && entry.active) ? "Aktif" : "Non-Aktif";
+
+            boolean partTime = "PARTTIME".equalsIgnoreCase(r.type);
+            String paidBy = (entry != null) ? entry.paidBy : "-";
+            String paidAt = (entry != null) ? entry.paidAt : "-";
+
+            lines.add(new Line(
+                    r.id, r.name, statusKaryawan, r.type, r.golongan,
+                    Math.round(r.base), Math.round(r.overtime),
+                    partTime ? r.daysWorked : -1, partTime ? rate : -1L,
+                    Math.round(r.total), statusPayroll, paidBy, paidAt));
         }
+        return lines;
+    }
+
+    // Total footer = jumlah nilai yang tampil di tabel
+    private void renderTotals(List<Line> lines) {
+        long sumPaid = 0L;
+        long sumPending = 0L;
+        for (Line l : lines) {
+            if ("PAID".equalsIgnoreCase(l.payrollStatus)) sumPaid += l.total;
+            else sumPending += l.total;
+        }
+
+        totalPaidLabel.setText("Paid: " + UIConstants.formatRupiah(sumPaid));
+        totalPendingLabel.setText("Pending: " + UIConstants.formatRupiah(sumPending));
+        grandTotalLabel.setText("Total: " + UIConstants.formatRupiah(sumPaid + sumPending));
+    }
+
+    /**
+     * [BARU] Satu baris laporan (immutable): uang sebagai long rupiah, hari sebagai int.
+     * days / rate = -1 jika tidak berlaku (Full-Time).
+     */
+    private static final class Line {
+        final int id;
+        final String name;
+        final String employeeStatus;
+        final String type;
+        final Integer golongan;
+        final long base;
+        final long overtime;
+        final int days;
+        final long rate;
+        final long total;
+        final String payrollStatus;
+        final String paidBy;
+        final String paidAt;
+        final String nameKey; // Kunci sort (lowercase), dihitung sekali
+
+        Line(int id, String name, String employeeStatus, String type, Integer golongan,
+             long base, long overtime, int days, long rate, long total,
+             String payrollStatus, String paidBy, String paidAt) {
+            this.id = id; this.name = name; this.employeeStatus = employeeStatus;
+            this.type = type; this.golongan = golongan;
+            this.base = base; this.overtime = overtime; this.days = days; this.rate = rate; this.total = total;
+            this.payrollStatus = payrollStatus; this.paidBy = paidBy; this.paidAt = paidAt;
+            this.nameKey = name.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final Function<Line, Integer> BY_ID = l -> l.id;
+    private static final Function<Line, String> BY_NAME = l -> l.nameKey;
+
+    // 13 kolom laporan
+    private static RowTableModel<Line> createModel() {
+        return new RowTableModel<>(
+            RowTableModel.column("ID", l -> l.id),
+            RowTableModel.column("Nama", l -> l.name),
+            RowTableModel.column("Status Karyawan", l -> l.employeeStatus),
+            RowTableModel.column("Tipe", l -> l.type),
+            RowTableModel.column("Gol", l -> (l.golongan == null) ? "-" : String.valueOf(l.golongan)),
+            RowTableModel.column("Gaji Pokok", l -> l.base),
+            RowTableModel.column("Lembur", l -> l.overtime),
+            RowTableModel.column("Hari Kerja", l -> (l.days < 0) ? "-" : String.valueOf(l.days)),
+            RowTableModel.column("Rate Harian", l -> (l.rate < 0) ? null : l.rate),
+            RowTableModel.column("Total Gaji", l -> l.total),
+            RowTableModel.column("Status Payroll", l -> l.payrollStatus),
+            RowTableModel.column("Dibayar Oleh", l -> l.paidBy),
+            RowTableModel.column("Waktu Bayar", l -> l.paidAt)
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+/**
+ * Repositories - Memilih implementasi PayrollRepository saat aplikasi start.
+ * - -Dpayroll.repository=mysql  (default) : EmployeeRepository, MySQL di localhost (lihat DB)
+ * - -Dpayroll.repository=memory           : InMemoryPayrollRepository, tanpa server database
+ */
+public final class Repositories {
+
+    public static final String MYSQL = "mysql";
+    public static final String MEMORY = "memory";
+
+    private static final String MODE = System.getProperty("payroll.repository", MYSQL).trim().toLowerCase();
+
+    // Holder idiom: implementasi hanya dibuat saat pertama kali dipakai
+    private static final class Holder {
+        static final PayrollRepository INSTANCE = create();
+    }
+
+    private Repositories() {}
+
+    public static PayrollRepository get() {
+        return Holder.INSTANCE;
+    }
+
+    public static boolean isInMemory() {
+        return MEMORY.equals(MODE);
+    }
+
+    private static PayrollRepository create() {
+        switch (MODE) {
+            case MEMORY:
+                return InMemoryPayrollRepository.withDefaults();
+            case MYSQL:
+                return new EmployeeRepository();
+            default:
+                throw new IllegalArgumentException("payroll.repository tidak dikenal: " + MODE + " (mysql|memory)");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javax.swing.JScrollBar;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+
+/**
+ * RowPager - Isi RowTableModel per halaman (keyset pagination), halaman berikutnya dimuat saat user scroll ke bawah.
+ * - Query halaman berjalan di background lewat PanelLoader (request lama otomatis diabaikan).
+ * - Halaman pertama mengganti isi tabel; halaman berikutnya ditambahkan di akhir.
+ * - Ukuran halaman: -Dpayroll.ui.pageSize=500.
+ * - Semua method dipanggil dari EDT.
+ */
+public class RowPager<T, C> {
+
+    public static final int PAGE_SIZE = Integer.getInteger("payroll.ui.pageSize", 500);
+    // Sisa baris di bawah viewport sebelum halaman berikutnya diminta
+    private static final int PREFETCH_ROWS = 50;
+
+    /**
+     * Satu halaman: baris + cursor halaman berikutnya (null = halaman terakhir).
+     */
+    public static final class Page<T, C> {
+        public final List<T> rows;
+        public final C next;
+
+        public Page(List<T> rows, C next) {
+            this.rows = rows;
+            this.next = next;
+        }
+
+        /**
+         * Dari hasil query dengan limit + 1: baris ekstra hanya penanda masih ada halaman berikutnya.
+         */
+        public static <T, C> Page<T, C> of(List<T> fetched, int limit, Function<? super T, C> cursorOf) {
+            if (fetched.size() <= limit) return new Page<>(fetched, null);
+            List<T> rows = new ArrayList<>(fetched.subList(0, limit));
+            return new Page<>(rows, cursorOf.apply(rows.get(limit - 1)));
+        }
+    }
+
+    // Query satu halaman setelah cursor (null = halaman pertama), dijalankan di background
+    public interface Source<T, C> {
+        Page<T, C> fetch(C after) throws Exception;
+    }
+
+    private final JScrollPane scroll;
+    private final RowTableModel<T> model;
+    private final PanelLoader loader;
+    private final Runnable onPage;
+
+    private Source<T, C> source;
+    private C next;
+    private boolean complete = true;
+
+    /**
+     * @param onPage Dipanggil (EDT) setiap kali halaman masuk, mis. untuk memperbarui total.
+     */
+    public RowPager(JScrollPane scroll, RowTableModel<T> model, PanelLoader loader, Runnable onPage) {
+        this.scroll = scroll;
+        this.model = model;
+        this.loader = loader;
+        this.onPage = onPage;
+        scroll.getVerticalScrollBar().addAdjustmentListener(e -> {
+            if (!e.getValueIsAdjusting()) fetchNextIfNeeded();
+        });
+    }
+
+    /**
+     * Mulai dari halaman pertama dengan sumber baru (isi tabel lama dibuang).
+     * @param onFirstPage Dipanggil (EDT) setelah halaman pertama masuk; isComplete() sudah terisi.
+     */
+    public void start(Source<T, C> source, Runnable onFirstPage) {
+        this.source = source;
+        this.next = null;
+        this.complete = false;
+        model.clear();
+        loader.load(() -> source.fetch(null), page -> {
+            model.setRows(page.rows);
+            accept(page);
+            if (onFirstPage != null) onFirstPage.run();
+        });
+    }
+
+    /**
+     * @return true jika semua baris sumber sudah ada di model.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Muat semua halaman yang tersisa (mis. sebelum membayar semua baris yang cocok filter), lalu jalankan then.
+     */
+    public void loadRemaining(Runnable then) {
+        if (complete || source == null) { then.run(); return; }
+        Source<T, C> s = source;
+        C after = next;
+        loader.load(() -> {
+            List<T> rest = new ArrayList<>();
+            C cursor = after;
+            while (cursor != null) {
+                Page<T, C> page = s.fetch(cursor);
+                rest.addAll(page.rows);
+                cursor = page.next;
+            }
+            return rest;
+        }, rest -> {
+            model.appendRows(rest);
+            next = null;
+            complete = true;
+            onPage.run();
+            then.run();
+        });
+    }
+
+    // --- Internal ---
+
+    private void accept(Page<T, C> page) {
+        next = page.next;
+        complete = (next == null);
+        onPage.run();
+        // Halaman bisa tidak memenuhi viewport (mis. baris tersaring di sisi aplikasi): lanjutkan setelah layout
+        SwingUtilities.invokeLater(this::fetchNextIfNeeded);
+    }
+
+    private void fetchNextIfNeeded() {
+        if (complete || source == null || loader.isLoading()) return;
+        if (!nearBottom()) return;
+
+        Source<T, C> s = source;
+        C after = next;
+        loader.load(() -> s.fetch(after), page -> {
+            model.appendRows(page.rows);
+            accept(page);
+        });
+    }
+
+    private boolean nearBottom() {
+        JScrollBar bar = scroll.getVerticalScrollBar();
+        int rowHeight = Math.max(1, UIConstants.TABLE_ROW_HEIGHT);
+        return bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - PREFETCH_ROWS * rowHeight;
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * RowTableModel - Model tabel read-only bersama untuk semua panel (pengganti DefaultTableModel.addRow per baris).
+ * - Baris disimpan di array (satu objek per baris), nilai kolom diambil saat sel digambar.
+ * - setRows: ganti seluruh isi sekaligus dengan satu fireTableDataChanged.
+ * - appendRows: tambah satu potongan (chunk) untuk loading bertahap, satu fireTableRowsInserted per potongan.
+ * - Hanya boleh diubah dari EDT (seperti semua model Swing).
+ */
+public class RowTableModel<T> extends AbstractTableModel {
+
+    /**
+     * Definisi satu kolom: judul + cara mengambil nilai dari objek baris.
+     */
+    public static final class Column<T> {
+        final String name;
+        final Function<? super T, ?> value;
+
+        Column(String name, Function<? super T, ?> value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    public static <T> Column<T> column(String name, Function<? super T, ?> value) {
+        return new Column<>(name, value);
+    }
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final List<Column<T>> columns;
+    private Object[] rows = EMPTY;
+    private int size;
+
+    @SafeVarargs
+    public RowTableModel(Column<T>... columns) {
+        // Salinan per elemen: array varargs tidak disimpan / diteruskan
+        List<Column<T>> copy = new ArrayList<>(columns.length);
+        for (Column<T> c : columns) copy.add(c);
+        this.columns = Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Ganti seluruh isi tabel (satu event untuk semua baris).
+     */
+    public void setRows(List<? extends T> newRows) {
+        rows = newRows.isEmpty() ? EMPTY : newRows.toArray();
+        size = rows.length;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Tambahkan potongan baris di akhir tabel (satu event per potongan).
+     */
+    public void appendRows(List<? extends T> chunk) {
+        if (chunk.isEmpty()) return;
+        int first = size;
+        int needed = size + chunk.size();
+        if (needed > rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(needed, rows.length + (rows.length >> 1)));
+        }
+        for (T row : chunk) rows[size++] = row;
+        fireTableRowsInserted(first, size - 1);
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        rows = EMPTY;
+        size = 0;
+        fireTableDataChanged();
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("row " + row + " / " + size);
+        return (T) rows[row];
+    }
+
+    // Salinan isi tabel saat ini (urutan model, bukan urutan tampilan)
+    @SuppressWarnings("unchecked")
+    public List<T> getRows() {
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(rows, size)));
+    }
+
+    @Override public int getRowCount() { return size; }
+    @Override public int getColumnCount() { return columns.size(); }
+    @Override public String getColumnName(int col) { return columns.get(col).name; }
+    @Override public boolean isCellEditable(int row, int col) { return false; }
+
+    @Override
+    public Object getValueAt(int row, int col) {
+        return columns.get(col).value.apply(getRow(row));
+    }
+}
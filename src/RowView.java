@@ -0,0 +1,163 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.swing.DefaultRowSorter;
+import javax.swing.JTable;
+import javax.swing.RowFilter;
+import javax.swing.SortOrder;
+
+/**
+ * RowView - Sort & filter di sisi klien untuk tabel RowTableModel (tanpa query ulang ke database).
+ * - Dataset yang sudah dimuat tetap di model; yang berubah hanya urutan / baris yang tampil (RowSorter).
+ * - Kunci sort dihitung sekali per baris lalu disimpan (mis. nama lowercase), bukan di setiap perbandingan.
+ * - Urutan stabil: kunci sama -> urutan model (hasil load, umumnya urut ID).
+ * - Klik header kolom tidak mengubah urutan; urutan diatur panel lewat apply().
+ * - Hanya dipakai dari EDT. Index dari JTable (getSelectedRow) adalah index tampilan -> pakai rowAtView().
+ */
+public class RowView<T> {
+
+    private final JTable table;
+    private final RowTableModel<T> model;
+    private final Sorter sorter;
+
+    private Function<? super T, ? extends Comparable<?>> sortKey; // null = urutan model
+    private Predicate<? super T> filter;                          // null = semua baris
+
+    // Cache kunci sort per baris model (null = belum dihitung)
+    private Object[] keys = new Object[0];
+
+    public RowView(JTable table, RowTableModel<T> model) {
+        this.table = table;
+        this.model = model;
+        this.sorter = new Sorter();
+        table.setRowSorter(sorter);
+    }
+
+    /**
+     * Terapkan urutan + filter baru ke data yang sudah ada di model (tanpa I/O).
+     * @param sortKey Kunci urut (Comparable), null = urutan model. Gunakan fungsi konstan agar cache kunci terpakai ulang.
+     * @param filter  Baris yang ditampilkan, null = semua.
+     */
+    public void apply(Function<? super T, ? extends Comparable<?>> sortKey, Predicate<? super T> filter) {
+        if (sortKey != this.sortKey) {
+            this.sortKey = sortKey;
+            resetKeys();
+        }
+        this.filter = filter;
+        sorter.refresh();
+    }
+
+    // --- Akses baris yang tampil ---
+
+    public int getVisibleCount() {
+        return sorter.getViewRowCount();
+    }
+
+    public T rowAtView(int viewRow) {
+        return model.getRow(table.convertRowIndexToModel(viewRow));
+    }
+
+    // Baris yang tampil, sesuai urutan tampilan
+    public List<T> getVisibleRows() {
+        int n = sorter.getViewRowCount();
+        List<T> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(model.getRow(sorter.convertRowIndexToModel(i)));
+        return out;
+    }
+
+    // --- Internal ---
+
+    private Object key(int modelRow) {
+        if (modelRow >= keys.length) keys = Arrays.copyOf(keys, Math.max(model.getRowCount(), modelRow + 1));
+        Object k = keys[modelRow];
+        if (k == null) {
+            k = sortKey.apply(model.getRow(modelRow));
+            keys[modelRow] = k;
+        }
+        return k;
+    }
+
+    private void resetKeys() {
+        keys = new Object[0];
+    }
+
+    /**
+     * Sorter dengan satu kolom virtual berisi kunci sort yang di-cache.
+     * Kolom virtual diletakkan setelah kolom terakhir model, sehingga header tabel tidak menampilkan panah sort.
+     */
+    private final class Sorter extends DefaultRowSorter<RowTableModel<T>, Integer> {
+        private final int keyColumn = model.getColumnCount();
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Sorter() {
+            setModelWrapper(new ModelWrapper<RowTableModel<T>, Integer>() {
+                @Override public RowTableModel<T> getModel() { return model; }
+                @Override public int getColumnCount() { return keyColumn + 1; }
+                @Override public int getRowCount() { return model.getRowCount(); }
+                @Override public Object getValueAt(int row, int column) {
+                    return column == keyColumn ? key(row) : model.getValueAt(row, column);
+                }
+                @Override public Integer getIdentifier(int row) { return row; }
+            });
+            setComparator(keyColumn, (Comparator) Comparator.naturalOrder());
+            // Satu RowFilter tetap yang membaca predicate terbaru, agar ganti filter tidak memicu sort tambahan
+            setRowFilter(new RowFilter<RowTableModel<T>, Integer>() {
+                @Override
+                public boolean include(Entry<? extends RowTableModel<T>, ? extends Integer> entry) {
+                    return filter == null || filter.test(model.getRow(entry.getIdentifier()));
+                }
+            });
+        }
+
+        // Satu kali sort untuk urutan + filter baru
+        void refresh() {
+            List<SortKey> wanted = sortKey == null ? List.of() : List.of(new SortKey(keyColumn, SortOrder.ASCENDING));
+            // setSortKeys hanya mengurutkan ulang baris yang sudah lolos filter lama -> tetap sort() penuh
+            if (!wanted.equals(getSortKeys())) setSortKeys(wanted);
+            sort();
+        }
+
+        // Urutan diatur panel lewat apply(), bukan klik header
+        @Override
+        public void toggleSortOrder(int column) { }
+
+        // Isi model berubah -> kunci lama tidak berlaku lagi
+        @Override
+        public void allRowsChanged() {
+            resetKeys();
+            super.allRowsChanged();
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public void modelStructureChanged() {
+            resetKeys();
+            super.modelStructureChanged();
+            // Comparator direset oleh super; pasang lagi lalu urutkan ulang
+            setComparator(keyColumn, (Comparator) Comparator.naturalOrder());
+            refresh();
+        }
+
+        @Override
+        public void rowsInserted(int firstRow, int endRow) {
+            // appendRows menambah di akhir: kunci yang sudah ada tetap valid
+            if (firstRow < keys.length) resetKeys();
+            super.rowsInserted(firstRow, endRow);
+        }
+
+        @Override
+        public void rowsDeleted(int firstRow, int endRow) {
+            resetKeys();
+            super.rowsDeleted(firstRow, endRow);
+        }
+
+        @Override
+        public void rowsUpdated(int firstRow, int endRow) {
+            resetKeys();
+            super.rowsUpdated(firstRow, endRow);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * SchemaMigrator - Bootstrap skema database yang berversi.
+ * - Versi yang sudah diterapkan dicatat di tabel schema_version.
+ * - Setiap migrasi hanya dijalankan sekali, berurutan sesuai nomor versi.
+ * - Dipanggil sekali saat aplikasi start (Main), sebelum UI dibuat.
+ */
+public class SchemaMigrator {
+
+    // Satu langkah migrasi (DDL / data) yang dijalankan pada koneksi yang sama
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static class Migration {
+        final int version;
+        final String description;
+        final List<Step> steps;
+
+        Migration(int version, String description, List<Step> steps) {
+            this.version = version;
+            this.description = description;
+            this.steps = steps;
+        }
+    }
+
+    // Daftar migrasi. Tambahkan versi baru di akhir, jangan ubah versi yang sudah rilis.
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Baseline tables", List.of(
+            sql("""
+                CREATE TABLE IF NOT EXISTS users (
+                  id INT AUTO_INCREMENT PRIMARY KEY,
+                  username VARCHAR(50) NOT NULL UNIQUE,
+                  password VARCHAR(255) NOT NULL
+                )"""),
+            sql("""
+                CREATE TABLE IF NOT EXISTS salary_scale (
+                  golongan INT PRIMARY KEY,
+                  base_salary DECIMAL(15,2) NOT NULL DEFAULT 0
+                )"""),
+            sql("""
+                CREATE TABLE IF NOT EXISTS employees (
+                  id INT PRIMARY KEY,
+                  name VARCHAR(100) NOT NULL,
+                  golongan INT NULL,
+                  employment_type VARCHAR(10) NOT NULL DEFAULT 'FULLTIME',
+                  is_active TINYINT(1) NOT NULL DEFAULT 1
+                )"""),
+            sql("""
+                CREATE TABLE IF NOT EXISTS work_records (
+                  id INT AUTO_INCREMENT PRIMARY KEY,
+                  employee_id INT NOT NULL,
+                  year INT NOT NULL,
+                  month INT NOT NULL,
+                  parttime_days INT NOT NULL DEFAULT 0,
+                  UNIQUE KEY uq_work_records_emp_period (employee_id, year, month)
+                )"""),
+            sql("""
+                CREATE TABLE IF NOT EXISTS overtime_entries (
+                  id INT AUTO_INCREMENT PRIMARY KEY,
+                  employee_id INT NOT NULL,
+                  ot_date DATE NOT NULL,
+                  start_time TIME NOT NULL,
+                  end_time TIME NOT NULL
+                )"""),
+            sql("""
+                CREATE TABLE IF NOT EXISTS payrolls (
+                  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                  employee_id INT NOT NULL,
+                  year INT NOT NULL,
+                  month INT NOT NULL,
+                  base_salary DECIMAL(15,2) NOT NULL DEFAULT 0,
+                  overtime_pay DECIMAL(15,2) NOT NULL DEFAULT 0,
+                  total_salary DECIMAL(15,2) NOT NULL DEFAULT 0,
+                  status VARCHAR(10) NOT NULL DEFAULT 'PENDING',
+                  snapshot_type VARCHAR(10) NULL,
+                  snapshot_golongan INT NULL,
+                  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                  UNIQUE KEY uq_payrolls_emp_period (employee_id, year, month)
+                )"""),
+            sql("""
+                CREATE TABLE IF NOT EXISTS payment_logs (
+                  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                  payroll_id BIGINT NOT NULL,
+                  paid_by VARCHAR(50),
+                  amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+                  payment_method VARCHAR(20),
+                  reference VARCHAR(100),
+                  paid_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )"""),
+            sql("""
+                CREATE TABLE IF NOT EXISTS app_settings (
+                  setting_key VARCHAR(50) PRIMARY KEY,
+                  setting_value VARCHAR(255)
+                )""")
+        )),
+        new Migration(2, "Indexes for payroll access paths", List.of(
+            // Lembur per karyawan per bulan (range ot_date)
+            index("overtime_entries", "idx_overtime_emp_date", "employee_id", "ot_date"),
+            // Bulk lembur satu bulan untuk semua karyawan + MAX(ot_date)
+            index("overtime_entries", "idx_overtime_date", "ot_date"),
+            // Semua payroll dalam satu periode (fetchExistingPayrolls, laporan, total dibayar)
+            index("payrolls", "idx_payrolls_period", "year", "month"),
+            index("work_records", "idx_work_records_emp_period", "employee_id", "year", "month"),
+            // JOIN laporan payrolls -> payment_logs
+            index("payment_logs", "idx_payment_logs_payroll", "payroll_id")
+        )),
+        new Migration(3, "Overtime monthly summary", List.of(
+            // Total lembur per karyawan per bulan, dipelihara oleh insert/delete overtime (EmployeeRepository)
+            sql("""
+                CREATE TABLE IF NOT EXISTS overtime_monthly_summary (
+                  employee_id INT NOT NULL,
+                  year INT NOT NULL,
+                  month INT NOT NULL,
+                  weekday_minutes INT NOT NULL DEFAULT 0,
+                  weekend_minutes INT NOT NULL DEFAULT 0,
+                  day_minutes VARBINARY(124) NOT NULL,
+                  version BIGINT NOT NULL DEFAULT 0,
+                  PRIMARY KEY (employee_id, year, month),
+                  KEY idx_overtime_summary_period (year, month)
+                )"""),
+            // Backfill dari data lembur yang sudah ada
+            EmployeeRepository::rebuildOvertimeSummary
+        )),
+        new Migration(4, "Indexes for employee paging", List.of(
+            // Keyset urut nama (name, id): InnoDB menyertakan PK di akhir index sekunder
+            index("employees", "idx_employees_name", "name"),
+            // Filter status / tipe / golongan, urut id
+            index("employees", "idx_employees_active_type_gol", "is_active", "employment_type", "golongan")
+        ))
+    );
+
+    /**
+     * Terapkan semua migrasi yang belum tercatat.
+     * @return true jika skema sudah up-to-date, false jika gagal (error dicetak, aplikasi tetap jalan).
+     */
+    public static boolean migrate() {
+        try (Connection conn = DB.getConnection()) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("""
+                    CREATE TABLE IF NOT EXISTS schema_version (
+                      version INT PRIMARY KEY,
+                      description VARCHAR(200),
+                      applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                    )""");
+            }
+
+            int current = currentVersion(conn);
+            for (Migration m : MIGRATIONS) {
+                if (m.version <= current) continue;
+
+                // Catatan: DDL di MySQL auto-commit, jadi tiap langkah dibuat idempotent
+                for (Step step : m.steps) step.apply(conn);
+
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "INSERT INTO schema_version(version, description) VALUES (?, ?)")) {
+                    ps.setInt(1, m.version);
+                    ps.setString(2, m.description);
+                    ps.executeUpdate();
+                }
+                System.out.println("[SchemaMigrator] Versi " + m.version + " diterapkan: " + m.description);
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println("[SchemaMigrator] Gagal migrasi skema: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static int currentVersion(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // --- Step factories ---
+
+    private static Step sql(String statement) {
+        return conn -> {
+            try (Statement st = conn.createStatement()) {
+                st.execute(statement);
+            }
+        };
+    }
+
+    /**
+     * CREATE INDEX jika belum ada index dengan kolom awalan yang sama
+     * (MySQL tidak punya CREATE INDEX IF NOT EXISTS, dan UNIQUE KEY lama juga dihitung).
+     */
+    private static Step index(String table, String name, String... columns) {
+        return conn -> {
+            if (hasIndexOn(conn, table, String.join(",", columns))) return;
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE INDEX " + name + " ON " + table + " (" + String.join(", ", columns) + ")");
+            }
+        };
+    }
+
+    private static boolean hasIndexOn(Connection conn, String table, String columnList) throws SQLException {
+        String sql = """
+            SELECT GROUP_CONCAT(column_name ORDER BY seq_in_index) AS cols
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = ?
+            GROUP BY index_name
+        """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String cols = rs.getString("cols");
+                    if (cols != null && (cols.equalsIgnoreCase(columnList)
+                            || cols.toLowerCase().startsWith(columnList.toLowerCase() + ","))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
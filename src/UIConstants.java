@@ -3,6 +3,7 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableColumnModel;
 
@@ -151,14 +152,46 @@ public class UIConstants {
     }
 
     // Centralized Currency Formatter ---
-    public static String formatRupiah(double value) {
+    // [UPDATED] Satu DecimalFormat per thread (DecimalFormat tidak thread-safe), tidak dibuat ulang setiap panggilan
+    private static final ThreadLocal<DecimalFormat> RUPIAH_FORMAT = ThreadLocal.withInitial(() -> {
         DecimalFormatSymbols symbols = new DecimalFormatSymbols();
         symbols.setGroupingSeparator('.');
         symbols.setDecimalSeparator(',');
         
         // Format #,### (tanpa desimal di belakang koma untuk gaji umumnya, atau #,###.## jika perlu)
-        DecimalFormat df = new DecimalFormat("#,###", symbols);
-        return "Rp. " + df.format(value);
+        return new DecimalFormat("#,###", symbols);
+    });
+
+    public static String formatRupiah(double value) {
+        return "Rp. " + RUPIAH_FORMAT.get().format(value);
+    }
+
+    public static String formatRupiah(long value) {
+        return "Rp. " + RUPIAH_FORMAT.get().format(value);
+    }
+
+    /**
+     * [BARU] Renderer kolom Rupiah: model menyimpan angka mentah (Number), format hanya saat sel digambar.
+     * null ditampilkan sebagai "-".
+     */
+    public static class RupiahRenderer extends DefaultTableCellRenderer {
+        public RupiahRenderer(int alignment) {
+            setHorizontalAlignment(alignment);
+            setOpaque(false);
+        }
+
+        @Override
+        protected void setValue(Object value) {
+            if (value instanceof Long || value instanceof Integer) setText(formatRupiah(((Number) value).longValue()));
+            else if (value instanceof Number) setText(formatRupiah(((Number) value).doubleValue()));
+            else setText(value == null ? "-" : value.toString());
+        }
+    }
+
+    // Pasang satu RupiahRenderer (dipakai bersama) ke kolom-kolom uang
+    public static void applyRupiahRenderer(JTable table, int alignment, int... columns) {
+        RupiahRenderer renderer = new RupiahRenderer(alignment);
+        for (int col : columns) table.getColumnModel().getColumn(col).setCellRenderer(renderer);
     }
 
     public static String capitalizeEachWord(String str) {
@@ -0,0 +1,114 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+
+/**
+ * ViewRegistry - Menyimpan panel navigasi (LandingPanel) agar tidak dibuat ulang setiap klik menu.
+ * - Panel dibuat saat pertama kali dibuka, lalu dipakai ulang (service, repository, data tabel tetap).
+ * - Saat dibuka lagi, panel hanya memuat ulang jika data berubah (dataVersion) sejak terakhir tampil,
+ *   atau sudah lebih lama dari -Dpayroll.ui.viewMaxAgeMs=300000 (perubahan dari luar aplikasi).
+ * - Panel yang implement ManagedView mendapat onActivate / onDeactivate (mulai / hentikan timer & loading).
+ * - dispose() saat logout: panel aktif di-deactivate lalu semua panel dilepas.
+ * - Semua method dipanggil dari EDT.
+ */
+public class ViewRegistry {
+
+    private static final long MAX_AGE_MS = Long.getLong("payroll.ui.viewMaxAgeMs", 300_000L);
+
+    private static final class Entry {
+        final JComponent component;
+        final ManagedView view; // null = panel tanpa hook
+        long version;           // dataVersion saat data panel terakhir dianggap terbaru
+        long shownAt;
+        boolean incomplete;     // loading dibatalkan saat disembunyikan
+
+        Entry(JComponent component, ManagedView view) {
+            this.component = component;
+            this.view = view;
+        }
+    }
+
+    private final LongSupplier dataVersion;
+    private final Map<String, Supplier<? extends JComponent>> factories = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private Entry active;
+
+    /**
+     * @param dataVersion Versi data saat ini, mis. repo.resultCache()::dataVersion.
+     */
+    public ViewRegistry(LongSupplier dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * Daftarkan pembuat panel. Factory boleh membungkus panel dengan JScrollPane.
+     */
+    public void register(String name, Supplier<? extends JComponent> factory) {
+        factories.put(name, factory);
+    }
+
+    /**
+     * Sembunyikan panel aktif lalu tampilkan panel name (dibuat jika belum ada).
+     * @return Komponen yang ditaruh di area konten, null jika name tidak terdaftar.
+     */
+    public JComponent activate(String name) {
+        deactivate();
+
+        Entry e = entries.get(name);
+        boolean created = false;
+        if (e == null) {
+            Supplier<? extends JComponent> factory = factories.get(name);
+            if (factory == null) return null;
+            JComponent c = factory.get();
+            e = new Entry(c, managed(c));
+            entries.put(name, e);
+            created = true; // Panel baru sudah memuat datanya sendiri di konstruktor
+        }
+
+        long now = System.currentTimeMillis();
+        long version = dataVersion.getAsLong();
+        boolean stale = !created && (e.incomplete || e.version != version || now - e.shownAt > MAX_AGE_MS);
+        if (created || stale) {
+            e.version = version;
+            e.shownAt = now;
+        }
+        e.incomplete = false;
+        active = e;
+        if (e.view != null) e.view.onActivate(stale);
+        return e.component;
+    }
+
+    /**
+     * Sembunyikan panel aktif (jika ada).
+     */
+    public void deactivate() {
+        Entry e = active;
+        active = null;
+        if (e == null) return;
+        // Perubahan yang dibuat panel itu sendiri (simpan, bayar, ...) sudah dimuat ulang olehnya
+        e.version = dataVersion.getAsLong();
+        if (e.view != null && e.view.onDeactivate()) e.incomplete = true;
+    }
+
+    /**
+     * Logout: hentikan panel aktif lalu lepas semua panel.
+     */
+    public void dispose() {
+        deactivate();
+        entries.clear();
+    }
+
+    // --- Internal ---
+
+    private static ManagedView managed(JComponent c) {
+        if (c instanceof ManagedView) return (ManagedView) c;
+        if (c instanceof JScrollPane) {
+            java.awt.Component inner = ((JScrollPane) c).getViewport().getView();
+            if (inner instanceof ManagedView) return (ManagedView) inner;
+        }
+        return null;
+    }
+}